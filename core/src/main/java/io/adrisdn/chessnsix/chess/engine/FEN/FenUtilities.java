@@ -9,12 +9,8 @@ import io.adrisdn.chessnsix.chess.engine.board.Board;
 import io.adrisdn.chessnsix.chess.engine.board.Board.Builder;
 import io.adrisdn.chessnsix.chess.engine.board.BoardUtils;
 import io.adrisdn.chessnsix.chess.engine.board.MoveLog;
-import io.adrisdn.chessnsix.chess.engine.pieces.Bishop;
-import io.adrisdn.chessnsix.chess.engine.pieces.King;
-import io.adrisdn.chessnsix.chess.engine.pieces.Knight;
 import io.adrisdn.chessnsix.chess.engine.pieces.Pawn;
-import io.adrisdn.chessnsix.chess.engine.pieces.Queen;
-import io.adrisdn.chessnsix.chess.engine.pieces.Rook;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceUtils;
 
 /**
  * Has methods to create games from FEN strings, and convert games to FEN
@@ -102,7 +98,7 @@ public final class FenUtilities {
 				calculateCurrentPlayerText(board) + " " +
 				calculateCastleText(board) + " " +
 				calculateEnPassantSquare(board) + " " +
-				"0 " + board.getMoveCount();
+				board.getHalfmoveClock() + " " + board.getMoveCount();
 	}
 
 	/**
@@ -150,8 +146,9 @@ public final class FenUtilities {
 	 */
 	private static String calculateBoardText(final Board board) {
 		final StringBuilder builder = new StringBuilder();
-		builder.append(
-				BoardUtils.getBoardNumStream().map(i -> board.getTile(i).toString()).collect(Collectors.joining()));
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			builder.append(board.getTile(i).toString());
+		}
 		builder.insert(8, "/");
 		builder.insert(17, "/");
 		builder.insert(26, "/");
@@ -195,7 +192,7 @@ public final class FenUtilities {
 		if (!"-".equals(fenEnPassantCoordinate)) {
 			final int enPassantPawnPosition = BoardUtils.getCoordinateAtPosition(fenEnPassantCoordinate)
 					- (8) * league.getDirection();
-			return new Pawn(league.isBlack() ? League.WHITE : League.BLACK, enPassantPawnPosition);
+			return PieceUtils.getPawn(league.isBlack() ? League.WHITE : League.BLACK, enPassantPawnPosition);
 		}
 		return null;
 	}
@@ -217,7 +214,8 @@ public final class FenUtilities {
 		final Builder builder = new Builder(Integer.parseInt(fenPartitions[fenPartitions.length - 1]), playerLeague,
 				getEnPassantPawn(playerLeague, fenPartitions[3]))
 				.updateBlackTimer(minutes, seconds, millisecond)
-				.updateWhiteTimer(minutes, seconds, millisecond);
+				.updateWhiteTimer(minutes, seconds, millisecond)
+				.setHalfmoveClock(fenPartitions.length > 5 ? Integer.parseInt(fenPartitions[4]) : 0);
 
 		final boolean whiteKingSideCastle = kingSideCastle(fenPartitions[2], true);
 		final boolean whiteQueenSideCastle = queenSideCastle(fenPartitions[2], true);
@@ -230,51 +228,51 @@ public final class FenUtilities {
 		while (i < boardTiles.length) {
 			switch (boardTiles[i]) {
 				case 'r':
-					builder.setPiece(new Rook(League.BLACK, i));
+					builder.setPiece(PieceUtils.getRook(League.BLACK, i, true));
 					i++;
 					break;
 				case 'n':
-					builder.setPiece(new Knight(League.BLACK, i));
+					builder.setPiece(PieceUtils.getKnight(League.BLACK, i, true));
 					i++;
 					break;
 				case 'b':
-					builder.setPiece(new Bishop(League.BLACK, i));
+					builder.setPiece(PieceUtils.getBishop(League.BLACK, i, true));
 					i++;
 					break;
 				case 'q':
-					builder.setPiece(new Queen(League.BLACK, i));
+					builder.setPiece(PieceUtils.getQueen(League.BLACK, i, true));
 					i++;
 					break;
 				case 'k':
-					builder.setPiece(new King(League.BLACK, i, blackKingSideCastle, blackQueenSideCastle));
+					builder.setPiece(PieceUtils.getKing(League.BLACK, i, true, false, blackKingSideCastle, blackQueenSideCastle));
 					i++;
 					break;
 				case 'p':
-					builder.setPiece(new Pawn(League.BLACK, i));
+					builder.setPiece(PieceUtils.getPawn(League.BLACK, i));
 					i++;
 					break;
 				case 'R':
-					builder.setPiece(new Rook(League.WHITE, i));
+					builder.setPiece(PieceUtils.getRook(League.WHITE, i, true));
 					i++;
 					break;
 				case 'N':
-					builder.setPiece(new Knight(League.WHITE, i));
+					builder.setPiece(PieceUtils.getKnight(League.WHITE, i, true));
 					i++;
 					break;
 				case 'B':
-					builder.setPiece(new Bishop(League.WHITE, i));
+					builder.setPiece(PieceUtils.getBishop(League.WHITE, i, true));
 					i++;
 					break;
 				case 'Q':
-					builder.setPiece(new Queen(League.WHITE, i));
+					builder.setPiece(PieceUtils.getQueen(League.WHITE, i, true));
 					i++;
 					break;
 				case 'K':
-					builder.setPiece(new King(League.WHITE, i, whiteKingSideCastle, whiteQueenSideCastle));
+					builder.setPiece(PieceUtils.getKing(League.WHITE, i, true, false, whiteKingSideCastle, whiteQueenSideCastle));
 					i++;
 					break;
 				case 'P':
-					builder.setPiece(new Pawn(League.WHITE, i));
+					builder.setPiece(PieceUtils.getPawn(League.WHITE, i));
 					i++;
 					break;
 				case '-':
@@ -40,7 +40,7 @@ public enum League {
 
 		@Override
 		public boolean isPawnPromotionSquare(final int position) {
-			return BoardUtils.FIRST_ROW.get(position);
+			return position < BoardUtils.NUM_TILES_PER_ROW;
 		}
 	},
 	/**
@@ -74,7 +74,7 @@ public enum League {
 
 		@Override
 		public boolean isPawnPromotionSquare(final int position) {
-			return BoardUtils.EIGHTH_ROW.get(position);
+			return position >= BoardUtils.NUM_TILES - BoardUtils.NUM_TILES_PER_ROW;
 		}
 	};
 
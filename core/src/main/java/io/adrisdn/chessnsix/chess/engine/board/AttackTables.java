@@ -0,0 +1,90 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+import io.adrisdn.chessnsix.chess.engine.League;
+
+/**
+ * Precomputed attack tables for the pieces that move by fixed steps: knights,
+ * kings and pawns. The tiles a stepping piece attacks only depend on the tile
+ * it stands on, so they are calculated once for every tile when the class is
+ * loaded, which leaves the board edges out of every later lookup. The rows
+ * where the pawns start, and can jump two tiles from, are kept as bitboards
+ * too.
+ */
+public final class AttackTables {
+
+	private static final int[][] KNIGHT_STEPS = { { -2, -1 }, { -2, 1 }, { -1, -2 }, { -1, 2 }, { 1, -2 }, { 1, 2 },
+			{ 2, -1 }, { 2, 1 } };
+	private static final int[][] KING_STEPS = { { -1, -1 }, { -1, 0 }, { -1, 1 }, { 0, -1 }, { 0, 1 }, { 1, -1 },
+			{ 1, 0 }, { 1, 1 } };
+	private static final int[][] WHITE_PAWN_STEPS = { { -1, -1 }, { -1, 1 } };
+	private static final int[][] BLACK_PAWN_STEPS = { { 1, -1 }, { 1, 1 } };
+
+	private static final long[] KNIGHT_ATTACKS = initAttackTable(KNIGHT_STEPS);
+	private static final long[] KING_ATTACKS = initAttackTable(KING_STEPS);
+	private static final long[][] PAWN_ATTACKS = { initAttackTable(WHITE_PAWN_STEPS),
+			initAttackTable(BLACK_PAWN_STEPS) };
+	private static final long[] PAWN_START_TILES = { 0xFFL << 48, 0xFFL << 8 };
+
+	private AttackTables() {
+		throw new RuntimeException("Not instantiatable");
+	}
+
+	/**
+	 * Returns the tiles attacked by a knight.
+	 *
+	 * @param tileCoordinate coordinate of the knight.
+	 * @return the bitboard of the attacked tiles.
+	 */
+	public static long getKnightAttacks(final int tileCoordinate) {
+		return KNIGHT_ATTACKS[tileCoordinate];
+	}
+
+	/**
+	 * Returns the tiles attacked by a king.
+	 *
+	 * @param tileCoordinate coordinate of the king.
+	 * @return the bitboard of the attacked tiles.
+	 */
+	public static long getKingAttacks(final int tileCoordinate) {
+		return KING_ATTACKS[tileCoordinate];
+	}
+
+	/**
+	 * Returns the tiles a pawn attacks diagonally forward.
+	 *
+	 * @param league         color of the pawn.
+	 * @param tileCoordinate coordinate of the pawn.
+	 * @return the bitboard of the attacked tiles.
+	 */
+	public static long getPawnAttacks(final League league, final int tileCoordinate) {
+		return PAWN_ATTACKS[league.ordinal()][tileCoordinate];
+	}
+
+	/**
+	 * Returns the tiles where the pawns of a league start the game, the only ones
+	 * a pawn can jump two tiles from.
+	 *
+	 * @param league color of the pawns.
+	 * @return the bitboard of the starting row of the pawns.
+	 */
+	public static long getPawnStartTiles(final League league) {
+		return PAWN_START_TILES[league.ordinal()];
+	}
+
+	private static long[] initAttackTable(final int[][] steps) {
+		final long[] table = new long[BoardUtils.NUM_TILES];
+		for (int tileCoordinate = 0; tileCoordinate < BoardUtils.NUM_TILES; tileCoordinate++) {
+			final int row = tileCoordinate / BoardUtils.NUM_TILES_PER_ROW;
+			final int column = tileCoordinate % BoardUtils.NUM_TILES_PER_ROW;
+			for (final int[] step : steps) {
+				final int targetRow = row + step[0];
+				final int targetColumn = column + step[1];
+				if (targetRow >= 0 && targetRow < BoardUtils.NUM_TILES_PER_ROW && targetColumn >= 0
+						&& targetColumn < BoardUtils.NUM_TILES_PER_ROW) {
+					table[tileCoordinate] |= BitBoard.tileBit(targetRow * BoardUtils.NUM_TILES_PER_ROW + targetColumn);
+				}
+			}
+		}
+		return table;
+	}
+}
@@ -0,0 +1,329 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+import java.util.Arrays;
+
+import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
+
+/**
+ * Bitboard representation of a chess position. Holds one 64-bit word for every
+ * piece type of every league, the occupancy of each league and the occupancy
+ * of the whole board, plus a mailbox that maps each tile to the piece standing
+ * on it and a material signature that counts the pieces of every league and
+ * type. Bit i of every word corresponds to the tile coordinate i (0 is a8, 63
+ * is h1), the same numbering used by {@link Board#getTile(int)}.
+ */
+public final class BitBoard {
+
+	/**
+	 * Mailbox value of a tile without a piece.
+	 */
+	public static final int EMPTY = -1;
+
+	private static final int NUM_PIECE_TYPES = PieceType.values().length;
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+	private static final League[] LEAGUES = League.values();
+	private static final int MATERIAL_BITS = 4;
+	private static final long MATERIAL_MASK = (1L << MATERIAL_BITS) - 1;
+	private static final long LIGHT_TILES = 0xAA55AA55AA55AA55L;
+
+	private final long[] pieceBitBoards;
+	private final long[] leagueBitBoards;
+	private final int[] mailbox;
+	private long occupancy;
+	private long materialSignature;
+
+	/**
+	 * Initializes an empty bitboard.
+	 */
+	BitBoard() {
+		this.pieceBitBoards = new long[LEAGUES.length * NUM_PIECE_TYPES];
+		this.leagueBitBoards = new long[LEAGUES.length];
+		this.mailbox = new int[BoardUtils.NUM_TILES];
+		Arrays.fill(this.mailbox, EMPTY);
+		this.occupancy = 0L;
+		this.materialSignature = 0L;
+	}
+
+	/**
+	 * Initializes a bitboard as a copy of another one.
+	 *
+	 * @param other the bitboard to copy.
+	 */
+	BitBoard(final BitBoard other) {
+		this.pieceBitBoards = other.pieceBitBoards.clone();
+		this.leagueBitBoards = other.leagueBitBoards.clone();
+		this.mailbox = other.mailbox.clone();
+		this.occupancy = other.occupancy;
+		this.materialSignature = other.materialSignature;
+	}
+
+	/**
+	 * Returns the index used for a piece of the given league and type, both in the
+	 * piece bitboards and in the mailbox.
+	 *
+	 * @param league    color of the piece.
+	 * @param pieceType type of the piece.
+	 * @return the index of the piece.
+	 */
+	public static int pieceIndex(final League league, final PieceType pieceType) {
+		return league.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+	}
+
+	/**
+	 * Returns the league encoded in a piece index.
+	 *
+	 * @param pieceIndex index returned by {@link #pieceIndex(League, PieceType)}.
+	 * @return the league of the piece.
+	 */
+	public static League leagueOf(final int pieceIndex) {
+		return LEAGUES[pieceIndex / NUM_PIECE_TYPES];
+	}
+
+	/**
+	 * Returns the piece type encoded in a piece index.
+	 *
+	 * @param pieceIndex index returned by {@link #pieceIndex(League, PieceType)}.
+	 * @return the type of the piece.
+	 */
+	public static PieceType pieceTypeOf(final int pieceIndex) {
+		return PIECE_TYPES[pieceIndex % NUM_PIECE_TYPES];
+	}
+
+	/**
+	 * Returns a word with only the bit of the given tile set.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 * @return the bit of the tile.
+	 */
+	public static long tileBit(final int tileCoordinate) {
+		return 1L << tileCoordinate;
+	}
+
+	/**
+	 * Places a piece on an empty tile.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 * @param league         color of the piece.
+	 * @param pieceType      type of the piece.
+	 */
+	void setPiece(final int tileCoordinate, final League league, final PieceType pieceType) {
+		final long bit = tileBit(tileCoordinate);
+		final int index = pieceIndex(league, pieceType);
+		this.pieceBitBoards[index] |= bit;
+		this.leagueBitBoards[league.ordinal()] |= bit;
+		this.occupancy |= bit;
+		this.mailbox[tileCoordinate] = index;
+		this.materialSignature += 1L << (index * MATERIAL_BITS);
+	}
+
+	/**
+	 * Removes the piece standing on a tile, if any.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 */
+	void removePiece(final int tileCoordinate) {
+		final int index = this.mailbox[tileCoordinate];
+		if (index == EMPTY) {
+			return;
+		}
+		final long bit = ~tileBit(tileCoordinate);
+		this.pieceBitBoards[index] &= bit;
+		this.leagueBitBoards[index / NUM_PIECE_TYPES] &= bit;
+		this.occupancy &= bit;
+		this.mailbox[tileCoordinate] = EMPTY;
+		this.materialSignature -= 1L << (index * MATERIAL_BITS);
+	}
+
+	/**
+	 * Returns the bitboard of the pieces of a league and type.
+	 *
+	 * @param league    color of the pieces.
+	 * @param pieceType type of the pieces.
+	 * @return the bitboard of the pieces.
+	 */
+	public long getPieces(final League league, final PieceType pieceType) {
+		return this.pieceBitBoards[pieceIndex(league, pieceType)];
+	}
+
+	/**
+	 * Returns the bitboard of all the pieces of a league.
+	 *
+	 * @param league color of the pieces.
+	 * @return the occupancy of the league.
+	 */
+	public long getPieces(final League league) {
+		return this.leagueBitBoards[league.ordinal()];
+	}
+
+	/**
+	 * Returns the bitboard of every occupied tile.
+	 *
+	 * @return the occupancy of the board.
+	 */
+	public long getOccupancy() {
+		return this.occupancy;
+	}
+
+	/**
+	 * Returns true if a piece stands on the tile.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 * @return true if the tile is occupied, false otherwise.
+	 */
+	public boolean isTileOccupied(final int tileCoordinate) {
+		return (this.occupancy & tileBit(tileCoordinate)) != 0;
+	}
+
+	/**
+	 * Returns the piece index of the piece standing on a tile.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 * @return the piece index, or {@link #EMPTY} if the tile is empty.
+	 */
+	public int getPieceIndex(final int tileCoordinate) {
+		return this.mailbox[tileCoordinate];
+	}
+
+	/**
+	 * Returns the type of the piece standing on a tile.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 * @return the type of the piece, or null if the tile is empty.
+	 */
+	public PieceType getPieceType(final int tileCoordinate) {
+		final int index = this.mailbox[tileCoordinate];
+		return index == EMPTY ? null : pieceTypeOf(index);
+	}
+
+	/**
+	 * Returns the league of the piece standing on a tile.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 * @return the league of the piece, or null if the tile is empty.
+	 */
+	public League getLeague(final int tileCoordinate) {
+		final int index = this.mailbox[tileCoordinate];
+		return index == EMPTY ? null : leagueOf(index);
+	}
+
+	/**
+	 * Returns the coordinate of the king of a league.
+	 *
+	 * @param league color of the king.
+	 * @return the coordinate of the king, or 64 if there is no king.
+	 */
+	public int getKingPosition(final League league) {
+		return Long.numberOfTrailingZeros(this.getPieces(league, PieceType.KING));
+	}
+
+	/**
+	 * Returns the pieces of both leagues that attack a tile, found by looking
+	 * from the tile outwards with the attack pattern of every piece type.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 * @return the bitboard of the attacking pieces.
+	 */
+	public long attackersOf(final int tileCoordinate) {
+		return this.attackersOf(tileCoordinate, League.WHITE, this.occupancy)
+				| this.attackersOf(tileCoordinate, League.BLACK, this.occupancy);
+	}
+
+	/**
+	 * Returns true if any piece of a league attacks a tile.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 * @param byLeague       league of the attacking pieces.
+	 * @return true if the tile is attacked, false otherwise.
+	 */
+	public boolean isSquareAttacked(final int tileCoordinate, final League byLeague) {
+		final League defender = byLeague.isWhite() ? League.BLACK : League.WHITE;
+		if ((AttackTables.getPawnAttacks(defender, tileCoordinate) & this.getPieces(byLeague, PieceType.PAWN)) != 0L
+				|| (AttackTables.getKnightAttacks(tileCoordinate) & this.getPieces(byLeague, PieceType.KNIGHT)) != 0L
+				|| (AttackTables.getKingAttacks(tileCoordinate) & this.getPieces(byLeague, PieceType.KING)) != 0L) {
+			return true;
+		}
+		final long queens = this.getPieces(byLeague, PieceType.QUEEN);
+		return (MagicBitBoards.getBishopAttacks(tileCoordinate, this.occupancy)
+				& (this.getPieces(byLeague, PieceType.BISHOP) | queens)) != 0L
+				|| (MagicBitBoards.getRookAttacks(tileCoordinate, this.occupancy)
+						& (this.getPieces(byLeague, PieceType.ROOK) | queens)) != 0L;
+	}
+
+	/**
+	 * Returns the pieces of a league that attack a tile, as if the occupied tiles
+	 * were the given ones.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 * @param byLeague       league of the attacking pieces.
+	 * @param occupancy      bitboard of the tiles that block sliding pieces.
+	 * @return the bitboard of the attacking pieces.
+	 */
+	long attackersOf(final int tileCoordinate, final League byLeague, final long occupancy) {
+		final League defender = byLeague.isWhite() ? League.BLACK : League.WHITE;
+		final long queens = this.getPieces(byLeague, PieceType.QUEEN);
+		return (AttackTables.getPawnAttacks(defender, tileCoordinate) & this.getPieces(byLeague, PieceType.PAWN))
+				| (AttackTables.getKnightAttacks(tileCoordinate) & this.getPieces(byLeague, PieceType.KNIGHT))
+				| (AttackTables.getKingAttacks(tileCoordinate) & this.getPieces(byLeague, PieceType.KING))
+				| (MagicBitBoards.getBishopAttacks(tileCoordinate, occupancy)
+						& (this.getPieces(byLeague, PieceType.BISHOP) | queens))
+				| (MagicBitBoards.getRookAttacks(tileCoordinate, occupancy)
+						& (this.getPieces(byLeague, PieceType.ROOK) | queens));
+	}
+
+	/**
+	 * Returns the number of pieces of a league and type.
+	 *
+	 * @param league    color of the pieces.
+	 * @param pieceType type of the pieces.
+	 * @return the number of pieces.
+	 */
+	public int countPieces(final League league, final PieceType pieceType) {
+		return Long.bitCount(this.getPieces(league, pieceType));
+	}
+
+	/**
+	 * Returns the material signature of the position: the number of pieces of
+	 * every league and type, four bits each in the order of the piece indexes.
+	 * Two positions with the same material have the same signature.
+	 *
+	 * @return the material signature.
+	 */
+	public long getMaterialSignature() {
+		return this.materialSignature;
+	}
+
+	/**
+	 * Returns true if neither league has enough material left to checkmate: only
+	 * the kings remain, with at most a single knight or bishop, or with any
+	 * number of bishops that all stand on tiles of the same color. The material
+	 * signature answers it without looking at the tiles, except for the color of
+	 * the bishops.
+	 *
+	 * @return true if the position is a draw by insufficient material.
+	 */
+	public boolean isInsufficientMaterial() {
+		int knights = 0, bishops = 0;
+		for (final League league : LEAGUES) {
+			if (this.countMaterial(league, PieceType.PAWN) != 0 || this.countMaterial(league, PieceType.ROOK) != 0
+					|| this.countMaterial(league, PieceType.QUEEN) != 0) {
+				return false;
+			}
+			knights += this.countMaterial(league, PieceType.KNIGHT);
+			bishops += this.countMaterial(league, PieceType.BISHOP);
+		}
+		if (knights + bishops <= 1) {
+			return true;
+		}
+		if (knights != 0) {
+			return false;
+		}
+		final long allBishops = this.getPieces(League.WHITE, PieceType.BISHOP)
+				| this.getPieces(League.BLACK, PieceType.BISHOP);
+		return (allBishops & LIGHT_TILES) == 0L || (allBishops & ~LIGHT_TILES) == 0L;
+	}
+
+	private int countMaterial(final League league, final PieceType pieceType) {
+		return (int) (this.materialSignature >>> (pieceIndex(league, pieceType) * MATERIAL_BITS) & MATERIAL_MASK);
+	}
+}
@@ -1,38 +1,37 @@
 package io.adrisdn.chessnsix.chess.engine.board;
 
-import static io.adrisdn.chessnsix.chess.engine.board.BoardUtils.getBoardNumStream;
-
 import com.google.common.collect.ImmutableList;
 import io.adrisdn.chessnsix.chess.engine.League;
 import io.adrisdn.chessnsix.chess.engine.board.Move.MoveFactory;
-import io.adrisdn.chessnsix.chess.engine.pieces.Bishop;
-import io.adrisdn.chessnsix.chess.engine.pieces.King;
-import io.adrisdn.chessnsix.chess.engine.pieces.Knight;
 import io.adrisdn.chessnsix.chess.engine.pieces.Pawn;
 import io.adrisdn.chessnsix.chess.engine.pieces.Piece;
-import io.adrisdn.chessnsix.chess.engine.pieces.Queen;
-import io.adrisdn.chessnsix.chess.engine.pieces.Rook;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceUtils;
 import io.adrisdn.chessnsix.chess.engine.player.BlackPlayer;
 import io.adrisdn.chessnsix.chess.engine.player.Player;
 import io.adrisdn.chessnsix.chess.engine.player.WhitePlayer;
 
-import java.util.HashMap;
-import java.util.stream.Collectors;
-
 /**
  * Represents a chess board with players, pieces, and game state.
  */
 public final class Board {
 
-	private final ImmutableList<Tile> gameBoard;
-	private final ImmutableList<Piece> whitePieces, blackPieces;
+	private final BitBoard bitBoard;
+	private final Piece[] boardPieces;
+	private final KingSafety[] kingSafety;
+	private volatile ImmutableList<Piece> whitePieces, blackPieces;
 
-	private final WhitePlayer whitePlayer;
-	private final BlackPlayer blackPlayer;
-	private final Player currentPlayer;
+	private final League nextMoveMaker;
+	private final int[] whiteTimer, blackTimer;
+	private volatile WhitePlayer whitePlayer;
+	private volatile BlackPlayer blackPlayer;
 
 	private final Pawn enPassantPawn;
 	private final int moveCount;
+	private final long unmovedPieces;
+	private final long zobristKey;
+	private final CastlingRules castlingRules;
+	private final int halfmoveClock;
+	private final PositionHistory positionHistory;
 
 	private final Move transitionMove;
 
@@ -42,48 +41,27 @@ public final class Board {
 	 * @param builder The Builder instance containing board configuration.
 	 */
 	private Board(final Builder builder) {
-		this.gameBoard = createGameBoard(builder);
-		this.whitePieces = calculateActivePieces(builder, League.WHITE);
-		this.blackPieces = calculateActivePieces(builder, League.BLACK);
+		this.boardPieces = builder.boardConfig.clone();
+		this.bitBoard = new BitBoard(builder.bitBoard);
+		this.kingSafety = new KingSafety[League.values().length];
+		this.unmovedPieces = builder.unmovedPieces;
+		this.castlingRules = builder.castlingRules != null ? builder.castlingRules
+				: CastlingRules.calculate(this.bitBoard, this.unmovedPieces);
 
 		this.enPassantPawn = builder.enPassantPawn;
-		final ImmutableList<Move> whiteStandardLegalMoves = this.calculateLegalMoves(this.whitePieces);
-		final ImmutableList<Move> blackStandardLegalMoves = this.calculateLegalMoves(this.blackPieces);
-
-		this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves, builder.whiteMinute,
-				builder.whiteSecond, builder.whiteMillisecond);
-		this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves, builder.blackMinute,
-				builder.blackSecond, builder.blackMillisecond);
-
-		this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+		this.zobristKey = builder.zobristKey != null ? builder.zobristKey
+				: Zobrist.calculateKey(this.bitBoard, builder.nextMoveMaker, this.unmovedPieces,
+						this.enPassantPawn == null ? -1 : this.enPassantPawn.getPiecePosition());
+		this.halfmoveClock = builder.halfmoveClock;
+		this.positionHistory = new PositionHistory(this.zobristKey, this.halfmoveClock, builder.positionHistory);
+		this.nextMoveMaker = builder.nextMoveMaker;
+		this.whiteTimer = new int[] { builder.whiteMinute, builder.whiteSecond, builder.whiteMillisecond };
+		this.blackTimer = new int[] { builder.blackMinute, builder.blackSecond, builder.blackMillisecond };
 
 		this.moveCount = builder.moveCount();
 		this.transitionMove = builder.transitionMove != null ? builder.transitionMove : MoveFactory.getNullMove();
 	}
 
-	/**
-	 * Calculates active pieces for the given league (color).
-	 *
-	 * @param builder The board builder containing piece configurations.
-	 * @param league  The league (WHITE or BLACK) to filter pieces.
-	 * @return An immutable list of active pieces.
-	 */
-	private static ImmutableList<Piece> calculateActivePieces(final Builder builder, final League league) {
-		return ImmutableList.copyOf(builder.boardConfig.values().stream().filter(piece -> piece.getLeague() == league)
-				.collect(Collectors.toList()));
-	}
-
-	/**
-	 * Creates the game board based on the builder's configuration.
-	 *
-	 * @param builder The board builder containing piece placements.
-	 * @return An immutable list representing the board tiles.
-	 */
-	public static ImmutableList<Tile> createGameBoard(final Builder builder) {
-		return ImmutableList.copyOf(getBoardNumStream().map(i -> Tile.createTile(i, builder.boardConfig.get(i)))
-				.collect(Collectors.toList()));
-	}
-
 	/**
 	 * Creates a standard board from a move history
 	 *
@@ -99,29 +77,29 @@ public final class Board {
 				.updateBlackTimer(Integer.parseInt(blackTimer[0]), Integer.parseInt(blackTimer[1]),
 						Integer.parseInt(blackTimer[2]));
 		// Black Layout
-		builder.setPiece(new Rook(League.BLACK, 0))
-				.setPiece(new Knight(League.BLACK, 1))
-				.setPiece(new Bishop(League.BLACK, 2))
-				.setPiece(new Queen(League.BLACK, 3))
-				.setPiece(new King(League.BLACK, 4, true, true))
-				.setPiece(new Bishop(League.BLACK, 5))
-				.setPiece(new Knight(League.BLACK, 6))
-				.setPiece(new Rook(League.BLACK, 7));
+		builder.setPiece(PieceUtils.getRook(League.BLACK, 0, true))
+				.setPiece(PieceUtils.getKnight(League.BLACK, 1, true))
+				.setPiece(PieceUtils.getBishop(League.BLACK, 2, true))
+				.setPiece(PieceUtils.getQueen(League.BLACK, 3, true))
+				.setPiece(PieceUtils.getKing(League.BLACK, 4, true, false, true, true))
+				.setPiece(PieceUtils.getBishop(League.BLACK, 5, true))
+				.setPiece(PieceUtils.getKnight(League.BLACK, 6, true))
+				.setPiece(PieceUtils.getRook(League.BLACK, 7, true));
 		for (int i = 8; i < 16; i++) {
-			builder.setPiece(new Pawn(League.BLACK, i));
+			builder.setPiece(PieceUtils.getPawn(League.BLACK, i));
 		}
 		// White Layout
 		for (int i = 48; i < 56; i++) {
-			builder.setPiece(new Pawn(League.WHITE, i));
+			builder.setPiece(PieceUtils.getPawn(League.WHITE, i));
 		}
-		builder.setPiece(new Rook(League.WHITE, 56))
-				.setPiece(new Knight(League.WHITE, 57))
-				.setPiece(new Bishop(League.WHITE, 58))
-				.setPiece(new Queen(League.WHITE, 59))
-				.setPiece(new King(League.WHITE, 60, true, true))
-				.setPiece(new Bishop(League.WHITE, 61))
-				.setPiece(new Knight(League.WHITE, 62))
-				.setPiece(new Rook(League.WHITE, 63));
+		builder.setPiece(PieceUtils.getRook(League.WHITE, 56, true))
+				.setPiece(PieceUtils.getKnight(League.WHITE, 57, true))
+				.setPiece(PieceUtils.getBishop(League.WHITE, 58, true))
+				.setPiece(PieceUtils.getQueen(League.WHITE, 59, true))
+				.setPiece(PieceUtils.getKing(League.WHITE, 60, true, false, true, true))
+				.setPiece(PieceUtils.getBishop(League.WHITE, 61, true))
+				.setPiece(PieceUtils.getKnight(League.WHITE, 62, true))
+				.setPiece(PieceUtils.getRook(League.WHITE, 63, true));
 		// build the board
 		return builder.build();
 	}
@@ -150,29 +128,29 @@ public final class Board {
 				.updateWhiteTimer(minute, second, millisecond)
 				.updateBlackTimer(minute, second, millisecond);
 		// Black Layout
-		builder.setPiece(new Rook(League.BLACK, 0))
-				.setPiece(new Knight(League.BLACK, 1))
-				.setPiece(new Bishop(League.BLACK, 2))
-				.setPiece(new Queen(League.BLACK, 3))
-				.setPiece(new King(League.BLACK, 4, true, true))
-				.setPiece(new Bishop(League.BLACK, 5))
-				.setPiece(new Knight(League.BLACK, 6))
-				.setPiece(new Rook(League.BLACK, 7));
+		builder.setPiece(PieceUtils.getRook(League.BLACK, 0, true))
+				.setPiece(PieceUtils.getKnight(League.BLACK, 1, true))
+				.setPiece(PieceUtils.getBishop(League.BLACK, 2, true))
+				.setPiece(PieceUtils.getQueen(League.BLACK, 3, true))
+				.setPiece(PieceUtils.getKing(League.BLACK, 4, true, false, true, true))
+				.setPiece(PieceUtils.getBishop(League.BLACK, 5, true))
+				.setPiece(PieceUtils.getKnight(League.BLACK, 6, true))
+				.setPiece(PieceUtils.getRook(League.BLACK, 7, true));
 		for (int i = 8; i < 16; i++) {
-			builder.setPiece(new Pawn(League.BLACK, i));
+			builder.setPiece(PieceUtils.getPawn(League.BLACK, i));
 		}
 		// White Layout
 		for (int i = 48; i < 56; i++) {
-			builder.setPiece(new Pawn(League.WHITE, i));
+			builder.setPiece(PieceUtils.getPawn(League.WHITE, i));
 		}
-		builder.setPiece(new Rook(League.WHITE, 56))
-				.setPiece(new Knight(League.WHITE, 57))
-				.setPiece(new Bishop(League.WHITE, 58))
-				.setPiece(new Queen(League.WHITE, 59))
-				.setPiece(new King(League.WHITE, 60, true, true))
-				.setPiece(new Bishop(League.WHITE, 61))
-				.setPiece(new Knight(League.WHITE, 62))
-				.setPiece(new Rook(League.WHITE, 63));
+		builder.setPiece(PieceUtils.getRook(League.WHITE, 56, true))
+				.setPiece(PieceUtils.getKnight(League.WHITE, 57, true))
+				.setPiece(PieceUtils.getBishop(League.WHITE, 58, true))
+				.setPiece(PieceUtils.getQueen(League.WHITE, 59, true))
+				.setPiece(PieceUtils.getKing(League.WHITE, 60, true, false, true, true))
+				.setPiece(PieceUtils.getBishop(League.WHITE, 61, true))
+				.setPiece(PieceUtils.getKnight(League.WHITE, 62, true))
+				.setPiece(PieceUtils.getRook(League.WHITE, 63, true));
 		// build the board
 		return builder.build();
 	}
@@ -192,34 +170,62 @@ public final class Board {
 	 * @return The player whose turn it is.
 	 */
 	public Player currentPlayer() {
-		return this.currentPlayer;
+		return this.nextMoveMaker.isWhite() ? this.whitePlayer() : this.blackPlayer();
 	}
 
 	/**
-	 * Gets the white player.
+	 * Gets the white player. It is created the first time it is requested, so
+	 * boards that are only checked for the safety of a king never build their
+	 * players.
 	 *
 	 * @return The white player instance.
 	 */
 	public Player whitePlayer() {
-		return this.whitePlayer;
+		WhitePlayer player = this.whitePlayer;
+		if (player == null) {
+			synchronized (this) {
+				player = this.whitePlayer;
+				if (player == null) {
+					player = new WhitePlayer(this, this.whiteTimer[0], this.whiteTimer[1], this.whiteTimer[2]);
+					this.whitePlayer = player;
+				}
+			}
+		}
+		return player;
 	}
 
 	/**
-	 * Gets the black player.
+	 * Gets the black player. It is created the first time it is requested.
 	 *
 	 * @return The black player instance.
 	 */
 	public Player blackPlayer() {
-		return this.blackPlayer;
+		BlackPlayer player = this.blackPlayer;
+		if (player == null) {
+			synchronized (this) {
+				player = this.blackPlayer;
+				if (player == null) {
+					player = new BlackPlayer(this, this.blackTimer[0], this.blackTimer[1], this.blackTimer[2]);
+					this.blackPlayer = player;
+				}
+			}
+		}
+		return player;
 	}
 
 	/**
-	 * Gets the white pieces
+	 * Gets the white pieces. The list is created the first time it is requested,
+	 * like the players.
 	 *
 	 * @return The list of the white pieces
 	 */
 	public ImmutableList<Piece> getWhitePieces() {
-		return this.whitePieces;
+		ImmutableList<Piece> pieces = this.whitePieces;
+		if (pieces == null) {
+			pieces = this.calculatePieces(League.WHITE);
+			this.whitePieces = pieces;
+		}
+		return pieces;
 	}
 
 	/**
@@ -228,7 +234,12 @@ public final class Board {
 	 * @return The list of the black pieces
 	 */
 	public ImmutableList<Piece> getBlackPieces() {
-		return this.blackPieces;
+		ImmutableList<Piece> pieces = this.blackPieces;
+		if (pieces == null) {
+			pieces = this.calculatePieces(League.BLACK);
+			this.blackPieces = pieces;
+		}
+		return pieces;
 	}
 
 	/**
@@ -247,7 +258,158 @@ public final class Board {
 	 * @return The tile at the given coordinate.
 	 */
 	public Tile getTile(final int tileCoordinate) {
-		return this.gameBoard.get(tileCoordinate);
+		return Tile.createTile(tileCoordinate, this.boardPieces[tileCoordinate]);
+	}
+
+	/**
+	 * Gets the piece at a specific coordinate.
+	 *
+	 * @param tileCoordinate The coordinate of the tile.
+	 * @return The piece on the tile, or null if the tile is empty.
+	 */
+	public Piece getPiece(final int tileCoordinate) {
+		return this.boardPieces[tileCoordinate];
+	}
+
+	/**
+	 * Gets the bitboard representation of the position.
+	 *
+	 * @return The bitboard of this board.
+	 */
+	public BitBoard getBitBoard() {
+		return this.bitBoard;
+	}
+
+	/**
+	 * Checks if a tile is attacked by any piece of a league.
+	 *
+	 * @param tileCoordinate The coordinate of the tile.
+	 * @param byLeague       The league of the attacking pieces.
+	 * @return True if the tile is attacked, false otherwise.
+	 */
+	public boolean isSquareAttacked(final int tileCoordinate, final League byLeague) {
+		return this.bitBoard.isSquareAttacked(tileCoordinate, byLeague);
+	}
+
+	/**
+	 * Gets the pieces of both leagues that attack a tile.
+	 *
+	 * @param tileCoordinate The coordinate of the tile.
+	 * @return An immutable list of the attacking pieces.
+	 */
+	public ImmutableList<Piece> attackersOf(final int tileCoordinate) {
+		final ImmutableList.Builder<Piece> attackers = ImmutableList.builder();
+		long attackerTiles = this.bitBoard.attackersOf(tileCoordinate);
+		while (attackerTiles != 0L) {
+			attackers.add(this.boardPieces[Long.numberOfTrailingZeros(attackerTiles)]);
+			attackerTiles &= attackerTiles - 1;
+		}
+		return attackers.build();
+	}
+
+	/**
+	 * Checks if the piece on a tile can be won by the opponent, which captures it
+	 * with its least valuable attacker and still gains material after every
+	 * recapture.
+	 *
+	 * @param tileCoordinate The coordinate of the piece.
+	 * @return True if the piece is hanging, false otherwise or if the tile is
+	 *         empty.
+	 */
+	public boolean isHanging(final int tileCoordinate) {
+		return StaticExchange.isHanging(this.bitBoard, tileCoordinate);
+	}
+
+	/**
+	 * Gets the bitboard of the pieces that have not moved yet.
+	 *
+	 * @return The bitboard of the unmoved pieces.
+	 */
+	public long getUnmovedPieces() {
+		return this.unmovedPieces;
+	}
+
+	/**
+	 * Gets the Zobrist key of the position, which covers the pieces, the side to
+	 * move, the castling rights and the en passant file.
+	 *
+	 * @return The 64-bit key of the position.
+	 */
+	public long getZobristKey() {
+		return this.zobristKey;
+	}
+
+	/**
+	 * Gets the castling paths of the game, calculated from its first position.
+	 *
+	 * @return The castling paths of the game.
+	 */
+	public CastlingRules getCastlingRules() {
+		return this.castlingRules;
+	}
+
+	/**
+	 * Gets the halfmove clock: the number of moves made since the last pawn move
+	 * or capture.
+	 *
+	 * @return The plies counted by the fifty-move rule.
+	 */
+	public int getHalfmoveClock() {
+		return this.halfmoveClock;
+	}
+
+	/**
+	 * Checks if the position has occurred three times in the game, with the same
+	 * player to move and the same castling and en passant rights.
+	 *
+	 * @return True if the game is drawn by threefold repetition.
+	 */
+	public boolean isThreefoldRepetition() {
+		return this.positionHistory.getRepetitions() >= 2;
+	}
+
+	/**
+	 * Checks if fifty moves of each player have been made without moving a pawn
+	 * or capturing a piece.
+	 *
+	 * @return True if the game is drawn by the fifty-move rule.
+	 */
+	public boolean isFiftyMoveRule() {
+		return this.halfmoveClock >= BoardUtils.FIFTY_MOVE_RULE_PLIES;
+	}
+
+	/**
+	 * Checks if neither player has enough material left to checkmate.
+	 *
+	 * @return True if the game is drawn by insufficient material.
+	 */
+	public boolean isInsufficientMaterial() {
+		return this.bitBoard.isInsufficientMaterial();
+	}
+
+	/**
+	 * Gets the keys of the previous positions that the current one could repeat.
+	 *
+	 * @return The history of the game up to this position.
+	 */
+	PositionHistory getPositionHistory() {
+		return this.positionHistory;
+	}
+
+	/**
+	 * Gets the checks and pins against the king of a league. They are computed the
+	 * first time they are requested and reused afterwards.
+	 *
+	 * @param league The league of the king.
+	 * @return The safety analysis of the king.
+	 */
+	public KingSafety getKingSafety(final League league) {
+		KingSafety safety = this.kingSafety[league.ordinal()];
+		if (safety == null) {
+			safety = new KingSafety(this.bitBoard, league);
+			this.kingSafety[league.ordinal()] = safety;
+		}
+		return safety;
 	}
 
 	/**
@@ -265,32 +427,39 @@ public final class Board {
 	 * @return An immutable list of all pieces.
 	 */
 	public ImmutableList<Piece> getAllPieces() {
-		return new ImmutableList.Builder<Piece>().addAll(this.whitePieces).addAll(this.blackPieces).build();
+		return new ImmutableList.Builder<Piece>().addAll(this.getWhitePieces()).addAll(this.getBlackPieces()).build();
 	}
 
-	/**
-	 * Calculates all the legal moves of the pieces of the parameter list
-	 *
-	 * @param pieces list of pieces to calculate their legal moves
-	 * @return The list of all the legal moves
-	 */
-	private ImmutableList<Move> calculateLegalMoves(final ImmutableList<Piece> pieces) {
-		return ImmutableList.copyOf(pieces.stream().flatMap(piece -> piece.calculateLegalMoves(this).stream())
-				.collect(Collectors.toList()));
+	private ImmutableList<Piece> calculatePieces(final League league) {
+		final ImmutableList.Builder<Piece> pieces = ImmutableList.builder();
+		long tiles = this.bitBoard.getPieces(league);
+		while (tiles != 0L) {
+			pieces.add(this.boardPieces[Long.numberOfTrailingZeros(tiles)]);
+			tiles &= tiles - 1;
+		}
+		return pieces.build();
 	}
 
 	/**
-	 * Builder class for constructing Board instances.
+	 * Builder class for constructing Board instances. The placement of the pieces
+	 * is kept in the same form as in the board, so a builder can start from the
+	 * position of a previous board and only change the tiles touched by a move.
 	 */
 	public static final class Builder {
 
-		private final HashMap<Integer, Piece> boardConfig;
+		private final Piece[] boardConfig;
+		private final BitBoard bitBoard;
+		private long unmovedPieces;
 		private final League nextMoveMaker;
 		private final Pawn enPassantPawn;
 		private final int moveCount;
 		private int whiteMinute, whiteSecond, whiteMillisecond;
 		private int blackMinute, blackSecond, blackMillisecond;
 		private Move transitionMove;
+		private Long zobristKey;
+		private CastlingRules castlingRules;
+		private int halfmoveClock;
+		private PositionHistory positionHistory;
 
 		/**
          * Constructs a Builder instance with initial values.
@@ -300,9 +469,9 @@ public final class Board {
          * @param enPassantPawn The en passant pawn, if any.
          */
 		public Builder(final int moveCount, final League nextMoveMaker, final Pawn enPassantPawn) {
-			// set initialCapacity to 32 and loadFactor to 1 to reduce chance of hash
-			// collision
-			this.boardConfig = new HashMap<>(32, 1);
+			this.boardConfig = new Piece[BoardUtils.NUM_TILES];
+			this.bitBoard = new BitBoard();
+			this.unmovedPieces = 0L;
 			this.nextMoveMaker = nextMoveMaker;
 			this.moveCount = moveCount;
 			this.enPassantPawn = enPassantPawn;
@@ -314,6 +483,36 @@ public final class Board {
 			this.blackMinute = BoardUtils.DEFAULT_TIMER_MINUTE;
 		}
 
+		/**
+         * Constructs a Builder instance for the board that follows another one. The
+         * pieces, timers and castling paths are copied from the previous board and
+         * the turn passes to the opponent, so only the tiles changed by the move
+         * have to be set afterwards. The halfmove clock keeps running unless it is
+         * reset by the move.
+         *
+         * @param board         The board before the move.
+         * @param enPassantPawn The en passant pawn, if any.
+         */
+		public Builder(final Board board, final Pawn enPassantPawn) {
+			this.boardConfig = board.boardPieces.clone();
+			this.bitBoard = new BitBoard(board.bitBoard);
+			this.unmovedPieces = board.unmovedPieces;
+			this.nextMoveMaker = board.nextMoveMaker.isWhite() ? League.BLACK : League.WHITE;
+			this.moveCount = board.moveCount + 1;
+			this.enPassantPawn = enPassantPawn;
+			// the timers run on the players, which only exist if they were requested
+			final Player whitePlayer = board.whitePlayer, blackPlayer = board.blackPlayer;
+			this.whiteMinute = whitePlayer != null ? whitePlayer.getMinute() : board.whiteTimer[0];
+			this.whiteSecond = whitePlayer != null ? whitePlayer.getSecond() : board.whiteTimer[1];
+			this.whiteMillisecond = whitePlayer != null ? whitePlayer.getMillisecond() : board.whiteTimer[2];
+			this.blackMinute = blackPlayer != null ? blackPlayer.getMinute() : board.blackTimer[0];
+			this.blackSecond = blackPlayer != null ? blackPlayer.getSecond() : board.blackTimer[1];
+			this.blackMillisecond = blackPlayer != null ? blackPlayer.getMillisecond() : board.blackTimer[2];
+			this.castlingRules = board.castlingRules;
+			this.halfmoveClock = board.halfmoveClock + 1;
+			this.positionHistory = board.positionHistory;
+		}
+
 		/**
          * Places a piece on the board.
          *
@@ -321,7 +520,26 @@ public final class Board {
          * @return This builder instance.
          */
 		public Builder setPiece(final Piece piece) {
-			this.boardConfig.put(piece.getPiecePosition(), piece);
+			final int position = piece.getPiecePosition();
+			this.clearTile(position);
+			this.boardConfig[position] = piece;
+			this.bitBoard.setPiece(position, piece.getLeague(), piece.getPieceType());
+			if (piece.isFirstMove()) {
+				this.unmovedPieces |= BitBoard.tileBit(position);
+			}
+			return this;
+		}
+
+		/**
+         * Removes the piece standing on a tile, if any.
+         *
+         * @param tileCoordinate The coordinate of the tile.
+         * @return This builder instance.
+         */
+		public Builder clearTile(final int tileCoordinate) {
+			this.boardConfig[tileCoordinate] = null;
+			this.bitBoard.removePiece(tileCoordinate);
+			this.unmovedPieces &= ~BitBoard.tileBit(tileCoordinate);
 			return this;
 		}
 
@@ -343,6 +561,42 @@ public final class Board {
 			this.transitionMove = transitionMove;
 		}
 
+		/**
+         * Sets the Zobrist key of the board, when it is already known from the
+         * previous position. Otherwise it is calculated when the board is built.
+         *
+         * @param zobristKey The key of the position.
+         * @return This builder instance.
+         */
+		public Builder setZobristKey(final long zobristKey) {
+			this.zobristKey = zobristKey;
+			return this;
+		}
+
+		/**
+         * Sets the castling paths of the game, which stay the same from the first
+         * position on. Otherwise they are calculated when the board is built.
+         *
+         * @param castlingRules The castling paths of the game.
+         * @return This builder instance.
+         */
+		public Builder setCastlingRules(final CastlingRules castlingRules) {
+			this.castlingRules = castlingRules;
+			return this;
+		}
+
+		/**
+         * Sets the number of moves made since the last pawn move or capture, which is
+         * 0 unless the board follows another one.
+         *
+         * @param halfmoveClock The plies counted by the fifty-move rule.
+         * @return This builder instance.
+         */
+		public Builder setHalfmoveClock(final int halfmoveClock) {
+			this.halfmoveClock = halfmoveClock;
+			return this;
+		}
+
 		/**
          * Gets the number of moves played.
          *
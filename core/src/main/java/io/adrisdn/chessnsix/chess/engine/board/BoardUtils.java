@@ -33,6 +33,7 @@ public final class BoardUtils {
 	public static final ImmutableList<Boolean> EIGHTH_ROW = initRow(56);
 	public static final ImmutableMap<String, Integer> POSITION_TO_COORDINATE = initializePositionToCoordinateMap();
 	public static final int DEFAULT_TIMER_MINUTE = 5, DEFAULT_TIMER_SECOND = 0, DEFAULT_TIMER_MILLISECOND = 0;
+	public static final int FIFTY_MOVE_RULE_PLIES = 100;
 
 	/**
 	 * Private constructor to prevent instantiation.
@@ -91,13 +92,30 @@ public final class BoardUtils {
 	}
 
 	/**
-	 * Checks if the board state is an endgame scenario (checkmate or stalemate).
+	 * Determines if an encoded move puts the opponent's king in check.
+	 *
+	 * @param board The search board where the move is played.
+	 * @param move  The encoded move to check.
+	 * @return True if the move puts the king in check, false otherwise.
+	 */
+	public static boolean kingThreat(final SearchBoard board, final int move) {
+		board.makeMove(move);
+		final boolean kingThreat = board.isInCheck(board.getCurrentLeague());
+		board.unmakeMove();
+		return kingThreat;
+	}
+
+	/**
+	 * Checks if the board state is an endgame scenario (checkmate, stalemate, or a
+	 * draw by threefold repetition, by the fifty-move rule or by insufficient
+	 * material).
 	 *
 	 * @param board The board to check.
 	 * @return True if it is an endgame scenario, false otherwise.
 	 */
 	public static boolean isEndGameScenario(final Board board) {
-		return board.currentPlayer().isInCheckmate() || board.currentPlayer().isInStalemate();
+		return board.currentPlayer().isInCheckmate() || board.currentPlayer().isInStalemate()
+				|| board.isThreefoldRepetition() || board.isFiftyMoveRule() || board.isInsufficientMaterial();
 	}
 
 	/**
@@ -198,6 +216,22 @@ public final class BoardUtils {
 				: PieceType.KING.getPieceValue() - movingPieceValue;
 	}
 
+	/**
+	 * Gets the most valuable victim (MVV) and least valuable aggressor (LVA) score
+	 * for an encoded move.
+	 *
+	 * @param board The search board where the move is played.
+	 * @param move  The encoded move to evaluate.
+	 * @return An integer score representing the MVV-LVA value.
+	 */
+	public static int mostValuableVictimLeastValuableAggressor(final SearchBoard board, final int move) {
+		final int movingPieceValue = board.getMovedPieceType(move).getPieceValue();
+		final PieceType attackedPiece = board.getAttackedPieceType(move);
+		return attackedPiece != null
+				? (attackedPiece.getPieceValue() - movingPieceValue + PieceType.KING.getPieceValue()) * 100
+				: PieceType.KING.getPieceValue() - movingPieceValue;
+	}
+
 	/**
 	 * Retrieves the last N moves played on the board.
 	 *
@@ -229,8 +263,10 @@ public final class BoardUtils {
 	 * @return The piece at the given position.
 	 */
 	public static Piece getPieceAtPosition(final Board board, final String position) {
-		return board.getAllPieces().stream()
-				.filter(piece -> piece.getPiecePosition() == BoardUtils.getCoordinateAtPosition(position)).findFirst()
-				.orElseThrow(() -> new IllegalStateException("Invalid Piece"));
+		final Piece piece = board.getPiece(BoardUtils.getCoordinateAtPosition(position));
+		if (piece == null) {
+			throw new IllegalStateException("Invalid Piece");
+		}
+		return piece;
 	}
 }
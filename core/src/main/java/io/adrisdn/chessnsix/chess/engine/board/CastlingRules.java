@@ -0,0 +1,169 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
+
+/**
+ * Castling paths of a game. In Chess960 the king and the rooks start on any
+ * file of the back row, but they keep the same starting tiles for the whole
+ * game, so the tiles that must be empty and the tiles that must not be
+ * attacked for every castling move are calculated once, from the first
+ * position of the game, and handed from every board to the next one.
+ *
+ * Whatever the starting files, castling takes the king to the g or c file and
+ * the rook to the f or d file. Every tile on the way of both pieces must be
+ * empty, apart from the king and the rook themselves, and neither the tiles
+ * the king passes through nor its destination can be attacked.
+ */
+public final class CastlingRules {
+
+	private static final int NO_TILE = -1;
+	private static final int KING_SIDE = 0;
+	private static final int QUEEN_SIDE = 1;
+
+	private final int[] kingStarts;
+	private final int[][] rookStarts;
+	private final long[][] emptyTiles;
+	private final long[][] safeTiles;
+
+	private CastlingRules() {
+		this.kingStarts = new int[League.values().length];
+		this.rookStarts = new int[League.values().length][2];
+		this.emptyTiles = new long[League.values().length][2];
+		this.safeTiles = new long[League.values().length][2];
+	}
+
+	/**
+	 * Calculates the castling paths of a position. A league can castle to a side
+	 * when its king and a single rook on that side of the king stand unmoved on
+	 * the back row.
+	 *
+	 * @param bitBoard      placement of the pieces.
+	 * @param unmovedPieces bitboard of the pieces that have not moved yet.
+	 * @return the castling paths of the game.
+	 */
+	public static CastlingRules calculate(final BitBoard bitBoard, final long unmovedPieces) {
+		final CastlingRules castlingRules = new CastlingRules();
+		for (final League league : League.values()) {
+			final int leagueIndex = league.ordinal();
+			final int backRow = castlingRow(league);
+			final long backRowTiles = 0xFFL << backRow;
+			final long kings = bitBoard.getPieces(league, PieceType.KING) & unmovedPieces & backRowTiles;
+			castlingRules.kingStarts[leagueIndex] = kings == 0L ? NO_TILE : Long.numberOfTrailingZeros(kings);
+			for (final int side : new int[] { KING_SIDE, QUEEN_SIDE }) {
+				castlingRules.rookStarts[leagueIndex][side] = NO_TILE;
+				if (kings == 0L) {
+					continue;
+				}
+				final int kingStart = castlingRules.kingStarts[leagueIndex];
+				final long sideTiles = side == KING_SIDE ? backRowTiles & -(BitBoard.tileBit(kingStart) << 1)
+						: backRowTiles & (BitBoard.tileBit(kingStart) - 1);
+				final long rooks = bitBoard.getPieces(league, PieceType.ROOK) & unmovedPieces & sideTiles;
+				if (Long.bitCount(rooks) != 1) {
+					continue;
+				}
+				final int rookStart = Long.numberOfTrailingZeros(rooks);
+				final int kingDestination = kingDestination(backRow, side);
+				final int rookDestination = rookDestination(backRow, side);
+				castlingRules.rookStarts[leagueIndex][side] = rookStart;
+				castlingRules.emptyTiles[leagueIndex][side] = (tilesBetween(kingStart, kingDestination)
+						| tilesBetween(rookStart, rookDestination))
+						& ~(BitBoard.tileBit(kingStart) | BitBoard.tileBit(rookStart));
+				castlingRules.safeTiles[leagueIndex][side] = tilesBetween(kingStart, kingDestination);
+			}
+		}
+		return castlingRules;
+	}
+
+	/**
+	 * Returns the starting tile of the rook a league castles with.
+	 *
+	 * @param league   league of the king.
+	 * @param kingSide true for king-side castling, false for queen-side.
+	 * @return the coordinate of the rook, or -1 if the league cannot castle to
+	 *         that side in this game.
+	 */
+	public int getRookStart(final League league, final boolean kingSide) {
+		return this.rookStarts[league.ordinal()][kingSide ? KING_SIDE : QUEEN_SIDE];
+	}
+
+	/**
+	 * Returns the tile where the king of a league lands after castling.
+	 *
+	 * @param league   league of the king.
+	 * @param kingSide true for king-side castling, false for queen-side.
+	 * @return the coordinate of the king after castling.
+	 */
+	public int getKingDestination(final League league, final boolean kingSide) {
+		return kingDestination(castlingRow(league), kingSide ? KING_SIDE : QUEEN_SIDE);
+	}
+
+	/**
+	 * Returns the tile where the rook of a league lands after castling.
+	 *
+	 * @param league   league of the king.
+	 * @param kingSide true for king-side castling, false for queen-side.
+	 * @return the coordinate of the rook after castling.
+	 */
+	public int getRookDestination(final League league, final boolean kingSide) {
+		return rookDestination(castlingRow(league), kingSide ? KING_SIDE : QUEEN_SIDE);
+	}
+
+	/**
+	 * Returns true if a league can castle to a side in a position: its king and
+	 * rook have not moved, the tiles on their way are empty and the tiles the
+	 * king goes through, from its starting tile to its destination, are not
+	 * attacked. The tiles are tested without the king and the rook on the board,
+	 * since neither of them stays where it is.
+	 *
+	 * @param bitBoard      placement of the pieces.
+	 * @param league        league that castles.
+	 * @param kingSide      true for king-side castling, false for queen-side.
+	 * @param unmovedPieces bitboard of the pieces that have not moved yet.
+	 * @return true if the castling move is legal, false otherwise.
+	 */
+	public boolean isCastlingAllowed(final BitBoard bitBoard, final League league, final boolean kingSide,
+			final long unmovedPieces) {
+		final int side = kingSide ? KING_SIDE : QUEEN_SIDE;
+		final int rookStart = this.rookStarts[league.ordinal()][side];
+		if (rookStart == NO_TILE) {
+			return false;
+		}
+		final long king = BitBoard.tileBit(this.kingStarts[league.ordinal()]);
+		final long rook = BitBoard.tileBit(rookStart);
+		if ((unmovedPieces & king) == 0L || (unmovedPieces & rook) == 0L
+				|| (bitBoard.getPieces(league, PieceType.KING) & king) == 0L
+				|| (bitBoard.getPieces(league, PieceType.ROOK) & rook) == 0L
+				|| (bitBoard.getOccupancy() & this.emptyTiles[league.ordinal()][side]) != 0L) {
+			return false;
+		}
+		final League opponent = league.isWhite() ? League.BLACK : League.WHITE;
+		final long occupancy = bitBoard.getOccupancy() & ~(king | rook);
+		long safeTiles = this.safeTiles[league.ordinal()][side];
+		while (safeTiles != 0L) {
+			if (bitBoard.attackersOf(Long.numberOfTrailingZeros(safeTiles), opponent, occupancy) != 0L) {
+				return false;
+			}
+			safeTiles &= safeTiles - 1;
+		}
+		return true;
+	}
+
+	private static long tilesBetween(final int from, final int to) {
+		final int low = Math.min(from, to);
+		final int high = Math.max(from, to);
+		return (BitBoard.tileBit(high) << 1) - BitBoard.tileBit(low);
+	}
+
+	private static int kingDestination(final int backRow, final int side) {
+		return backRow + (side == KING_SIDE ? 6 : 2);
+	}
+
+	private static int rookDestination(final int backRow, final int side) {
+		return backRow + (side == KING_SIDE ? 5 : 3);
+	}
+
+	private static int castlingRow(final League league) {
+		return league.isWhite() ? BoardUtils.NUM_TILES - BoardUtils.NUM_TILES_PER_ROW : 0;
+	}
+}
@@ -0,0 +1,141 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
+
+/**
+ * Compact integer encoding of a move, used by the search instead of
+ * {@link Move} objects. An encoded move keeps the current coordinate in its
+ * lowest 6 bits, the destination coordinate in the next 6 bits, a move flag in
+ * the next 3 bits and the type of the promoted piece above them. Castling moves
+ * store the coordinate of the castling rook as their destination, which keeps
+ * them unambiguous in Chess960.
+ */
+public final class EncodedMove {
+
+	/**
+	 * Encoded value of the null move.
+	 */
+	public static final int NULL_MOVE = 0;
+
+	/**
+	 * Flag of a move that only changes the position of a piece, capturing or not.
+	 */
+	public static final int NORMAL_MOVE = 0;
+	/**
+	 * Flag of a pawn moving two tiles forward.
+	 */
+	public static final int PAWN_JUMP = 1;
+	/**
+	 * Flag of an en passant capture.
+	 */
+	public static final int EN_PASSANT = 2;
+	/**
+	 * Flag of a king-side castle.
+	 */
+	public static final int KING_SIDE_CASTLE = 3;
+	/**
+	 * Flag of a queen-side castle.
+	 */
+	public static final int QUEEN_SIDE_CASTLE = 4;
+	/**
+	 * Flag of a pawn promotion, capturing or not.
+	 */
+	public static final int PROMOTION = 5;
+
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+	private EncodedMove() {
+		throw new RuntimeException("Not instantiatable");
+	}
+
+	/**
+	 * Encodes a move.
+	 *
+	 * @param currentCoordinate     coordinate of the moved piece.
+	 * @param destinationCoordinate destination of the move, or coordinate of the
+	 *                              rook for castling moves.
+	 * @param flag                  flag of the move.
+	 * @param promotionType         type of the promoted piece, or null.
+	 * @return the encoded move.
+	 */
+	public static int encode(final int currentCoordinate, final int destinationCoordinate, final int flag,
+			final PieceType promotionType) {
+		return currentCoordinate | (destinationCoordinate << 6) | (flag << 12)
+				| ((promotionType == null ? 0 : promotionType.ordinal()) << 15);
+	}
+
+	/**
+	 * Encodes a move without promotion.
+	 *
+	 * @param currentCoordinate     coordinate of the moved piece.
+	 * @param destinationCoordinate destination of the move, or coordinate of the
+	 *                              rook for castling moves.
+	 * @param flag                  flag of the move.
+	 * @return the encoded move.
+	 */
+	public static int encode(final int currentCoordinate, final int destinationCoordinate, final int flag) {
+		return currentCoordinate | (destinationCoordinate << 6) | (flag << 12);
+	}
+
+	/**
+	 * Returns the coordinate of the piece moved by an encoded move.
+	 *
+	 * @param move encoded move.
+	 * @return the current coordinate of the moved piece.
+	 */
+	public static int getCurrentCoordinate(final int move) {
+		return move & 0x3F;
+	}
+
+	/**
+	 * Returns the destination coordinate of an encoded move.
+	 *
+	 * @param move encoded move.
+	 * @return the destination coordinate, or the coordinate of the rook for
+	 *         castling moves.
+	 */
+	public static int getDestinationCoordinate(final int move) {
+		return (move >>> 6) & 0x3F;
+	}
+
+	/**
+	 * Returns the flag of an encoded move.
+	 *
+	 * @param move encoded move.
+	 * @return the flag of the move.
+	 */
+	public static int getFlag(final int move) {
+		return (move >>> 12) & 0x7;
+	}
+
+	/**
+	 * Returns the type of the piece a pawn promotes to.
+	 *
+	 * @param move encoded move.
+	 * @return the type of the promoted piece.
+	 */
+	public static PieceType getPromotionType(final int move) {
+		return PIECE_TYPES[(move >>> 15) & 0x7];
+	}
+
+	/**
+	 * Returns true if the encoded move is a castling move.
+	 *
+	 * @param move encoded move.
+	 * @return true if the move castles, false otherwise.
+	 */
+	public static boolean isCastlingMove(final int move) {
+		final int flag = getFlag(move);
+		return flag == KING_SIDE_CASTLE || flag == QUEEN_SIDE_CASTLE;
+	}
+
+	/**
+	 * Returns true if the encoded move is a pawn promotion.
+	 *
+	 * @param move encoded move.
+	 * @return true if the move promotes a pawn, false otherwise.
+	 */
+	public static boolean isPromotionMove(final int move) {
+		return getFlag(move) == PROMOTION;
+	}
+}
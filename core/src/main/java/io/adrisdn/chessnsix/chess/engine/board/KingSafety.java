@@ -0,0 +1,278 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
+
+/**
+ * Checks and pins against the king of a league in a position. Computed once
+ * from the bitboard of the position, it tells which destinations keep the king
+ * safe for every piece of the league, so moves can be filtered without
+ * building the board that would result from them.
+ */
+public final class KingSafety {
+
+	private static final long FIRST_COLUMN = 0x0101010101010101L;
+	private static final long EIGHTH_COLUMN = 0x8080808080808080L;
+
+	private final BitBoard bitBoard;
+	private final League league;
+	private final int kingPosition;
+	private final long checkers;
+	private final long checkMask;
+	private final long pinned;
+	private final long attackedTiles;
+
+	/**
+	 * Analyses the safety of the king of a league.
+	 *
+	 * @param bitBoard bitboard of the position.
+	 * @param league   league of the king.
+	 */
+	KingSafety(final BitBoard bitBoard, final League league) {
+		this.bitBoard = bitBoard;
+		this.league = league;
+		this.kingPosition = bitBoard.getKingPosition(league);
+		this.checkers = calculateCheckers(bitBoard, league, this.kingPosition);
+		this.checkMask = calculateCheckMask(this.kingPosition, this.checkers);
+		this.pinned = calculatePinned(bitBoard, league, this.kingPosition);
+		this.attackedTiles = calculateAttackedTiles(bitBoard, league, this.kingPosition);
+	}
+
+	/**
+	 * Returns true if the king is attacked.
+	 *
+	 * @return true if the king is in check, false otherwise.
+	 */
+	public boolean isInCheck() {
+		return this.checkers != 0L;
+	}
+
+	/**
+	 * Returns the opponent pieces that give check to the king.
+	 *
+	 * @return the bitboard of the checking pieces.
+	 */
+	public long getCheckers() {
+		return this.checkers;
+	}
+
+	/**
+	 * Returns true if a tile is attacked by the opponent. The king is seen
+	 * through by sliding pieces, so a tile behind the king along the line of a
+	 * checking piece is attacked as well.
+	 *
+	 * @param tileCoordinate coordinate of the tile.
+	 * @return true if the tile is attacked, false otherwise.
+	 */
+	public boolean isTileAttacked(final int tileCoordinate) {
+		return (this.attackedTiles & BitBoard.tileBit(tileCoordinate)) != 0L;
+	}
+
+	/**
+	 * Returns the destinations that keep the king safe for a piece of the league.
+	 * For the king, those are the tiles the opponent does not attack. For any
+	 * other piece, they are the tiles that block or capture a single checking
+	 * piece, further restricted to the line of the pin if the piece is pinned.
+	 *
+	 * @param piecePosition coordinate of the piece.
+	 * @return the bitboard of the allowed destinations.
+	 */
+	public long getLegalDestinations(final int piecePosition) {
+		return calculateLegalDestinations(piecePosition, this.kingPosition, this.checkMask, this.pinned,
+				this.attackedTiles);
+	}
+
+	/**
+	 * Returns true if an en passant capture keeps the king safe. Both pawns leave
+	 * the row of the king at once, so the capture is checked against the
+	 * occupancy it leaves behind.
+	 *
+	 * @param piecePosition         coordinate of the capturing pawn.
+	 * @param destinationCoordinate coordinate the pawn moves to.
+	 * @param capturedPosition      coordinate of the captured pawn.
+	 * @return true if the capture is legal, false otherwise.
+	 */
+	public boolean isLegalEnPassant(final int piecePosition, final int destinationCoordinate,
+			final int capturedPosition) {
+		return isLegalEnPassant(this.bitBoard, this.league, this.kingPosition, piecePosition, destinationCoordinate,
+				capturedPosition);
+	}
+
+	/**
+	 * Returns the opponent pieces that attack a tile, for a given occupancy of the
+	 * board.
+	 *
+	 * @param bitBoard       bitboard of the position.
+	 * @param league         league defending the tile.
+	 * @param tileCoordinate coordinate of the tile.
+	 * @param occupancy      occupied tiles that block sliding pieces.
+	 * @return the bitboard of the attacking pieces.
+	 */
+	static long calculateAttackers(final BitBoard bitBoard, final League league, final int tileCoordinate,
+			final long occupancy) {
+		return bitBoard.attackersOf(tileCoordinate, opponentOf(league), occupancy);
+	}
+
+	/**
+	 * Returns the opponent pieces that give check to the king of a league.
+	 *
+	 * @param bitBoard     bitboard of the position.
+	 * @param league       league of the king.
+	 * @param kingPosition coordinate of the king, or 64 if there is no king.
+	 * @return the bitboard of the checking pieces.
+	 */
+	static long calculateCheckers(final BitBoard bitBoard, final League league, final int kingPosition) {
+		return kingPosition == BoardUtils.NUM_TILES ? 0L
+				: calculateAttackers(bitBoard, league, kingPosition, bitBoard.getOccupancy());
+	}
+
+	/**
+	 * Returns the tiles where a piece other than the king can move to deal with
+	 * the checks: every tile without check, the checking piece and the tiles
+	 * between it and the king with a single check, and none with a double check.
+	 *
+	 * @param kingPosition coordinate of the king.
+	 * @param checkers     bitboard of the checking pieces.
+	 * @return the bitboard of the allowed tiles.
+	 */
+	static long calculateCheckMask(final int kingPosition, final long checkers) {
+		if (checkers == 0L) {
+			return -1L;
+		}
+		if (Long.bitCount(checkers) > 1) {
+			return 0L;
+		}
+		return checkers | MagicBitBoards.getTilesBetween(kingPosition, Long.numberOfTrailingZeros(checkers));
+	}
+
+	/**
+	 * Returns the pieces of a league that are pinned against their king.
+	 *
+	 * @param bitBoard     bitboard of the position.
+	 * @param league       league of the king.
+	 * @param kingPosition coordinate of the king, or 64 if there is no king.
+	 * @return the bitboard of the pinned pieces.
+	 */
+	static long calculatePinned(final BitBoard bitBoard, final League league, final int kingPosition) {
+		if (kingPosition == BoardUtils.NUM_TILES) {
+			return 0L;
+		}
+		final League opponent = opponentOf(league);
+		final long opponentPieces = bitBoard.getPieces(opponent);
+		final long ownPieces = bitBoard.getPieces(league);
+		final long queens = bitBoard.getPieces(opponent, PieceType.QUEEN);
+		long snipers = (MagicBitBoards.getRookAttacks(kingPosition, opponentPieces)
+				& (bitBoard.getPieces(opponent, PieceType.ROOK) | queens))
+				| (MagicBitBoards.getBishopAttacks(kingPosition, opponentPieces)
+						& (bitBoard.getPieces(opponent, PieceType.BISHOP) | queens));
+		long pinnedPieces = 0L;
+		while (snipers != 0L) {
+			final int sniperPosition = Long.numberOfTrailingZeros(snipers);
+			snipers &= snipers - 1;
+			final long blockers = MagicBitBoards.getTilesBetween(kingPosition, sniperPosition)
+					& bitBoard.getOccupancy();
+			if (Long.bitCount(blockers) == 1 && (blockers & ownPieces) != 0L) {
+				pinnedPieces |= blockers;
+			}
+		}
+		return pinnedPieces;
+	}
+
+	/**
+	 * Returns the tiles attacked by the opponent of a league, seeing through the
+	 * king of the league.
+	 *
+	 * @param bitBoard     bitboard of the position.
+	 * @param league       league of the king.
+	 * @param kingPosition coordinate of the king, or 64 if there is no king.
+	 * @return the bitboard of the attacked tiles.
+	 */
+	static long calculateAttackedTiles(final BitBoard bitBoard, final League league, final int kingPosition) {
+		final League opponent = opponentOf(league);
+		final long occupancy = kingPosition == BoardUtils.NUM_TILES ? bitBoard.getOccupancy()
+				: bitBoard.getOccupancy() & ~BitBoard.tileBit(kingPosition);
+		long attacks = calculatePawnAttacks(bitBoard.getPieces(opponent, PieceType.PAWN), opponent);
+		long knights = bitBoard.getPieces(opponent, PieceType.KNIGHT);
+		while (knights != 0L) {
+			attacks |= AttackTables.getKnightAttacks(Long.numberOfTrailingZeros(knights));
+			knights &= knights - 1;
+		}
+		final long queens = bitBoard.getPieces(opponent, PieceType.QUEEN);
+		long diagonals = bitBoard.getPieces(opponent, PieceType.BISHOP) | queens;
+		while (diagonals != 0L) {
+			attacks |= MagicBitBoards.getBishopAttacks(Long.numberOfTrailingZeros(diagonals), occupancy);
+			diagonals &= diagonals - 1;
+		}
+		long lines = bitBoard.getPieces(opponent, PieceType.ROOK) | queens;
+		while (lines != 0L) {
+			attacks |= MagicBitBoards.getRookAttacks(Long.numberOfTrailingZeros(lines), occupancy);
+			lines &= lines - 1;
+		}
+		final int opponentKing = bitBoard.getKingPosition(opponent);
+		if (opponentKing != BoardUtils.NUM_TILES) {
+			attacks |= AttackTables.getKingAttacks(opponentKing);
+		}
+		return attacks;
+	}
+
+	/**
+	 * Returns the destinations that keep the king safe for a piece, from the
+	 * result of the analysis of the king.
+	 *
+	 * @param piecePosition coordinate of the piece.
+	 * @param kingPosition  coordinate of the king.
+	 * @param checkMask     tiles that deal with the checks.
+	 * @param pinned        pinned pieces.
+	 * @param attackedTiles tiles attacked by the opponent.
+	 * @return the bitboard of the allowed destinations.
+	 */
+	static long calculateLegalDestinations(final int piecePosition, final int kingPosition, final long checkMask,
+			final long pinned, final long attackedTiles) {
+		if (piecePosition == kingPosition) {
+			return ~attackedTiles;
+		}
+		if ((pinned & BitBoard.tileBit(piecePosition)) != 0L) {
+			return checkMask & MagicBitBoards.getLine(kingPosition, piecePosition);
+		}
+		return checkMask;
+	}
+
+	/**
+	 * Returns true if an en passant capture keeps the king of a league safe.
+	 *
+	 * @param bitBoard              bitboard of the position.
+	 * @param league                league of the capturing pawn.
+	 * @param kingPosition          coordinate of the king, or 64 if there is no
+	 *                              king.
+	 * @param piecePosition         coordinate of the capturing pawn.
+	 * @param destinationCoordinate coordinate the pawn moves to.
+	 * @param capturedPosition      coordinate of the captured pawn.
+	 * @return true if the capture is legal, false otherwise.
+	 */
+	static boolean isLegalEnPassant(final BitBoard bitBoard, final League league, final int kingPosition,
+			final int piecePosition, final int destinationCoordinate, final int capturedPosition) {
+		if (kingPosition == BoardUtils.NUM_TILES) {
+			return true;
+		}
+		final long occupancy = (bitBoard.getOccupancy() & ~BitBoard.tileBit(piecePosition)
+				& ~BitBoard.tileBit(capturedPosition)) | BitBoard.tileBit(destinationCoordinate);
+		return (calculateAttackers(bitBoard, league, kingPosition, occupancy)
+				& ~BitBoard.tileBit(capturedPosition)) == 0L;
+	}
+
+	/**
+	 * Returns the tiles attacked by a set of pawns of a league.
+	 *
+	 * @param pawns  bitboard of the pawns.
+	 * @param league league of the pawns.
+	 * @return the bitboard of the attacked tiles.
+	 */
+	static long calculatePawnAttacks(final long pawns, final League league) {
+		return league.isWhite() ? ((pawns & ~FIRST_COLUMN) >>> 9) | ((pawns & ~EIGHTH_COLUMN) >>> 7)
+				: ((pawns & ~FIRST_COLUMN) << 7) | ((pawns & ~EIGHTH_COLUMN) << 9);
+	}
+
+	private static League opponentOf(final League league) {
+		return league.isWhite() ? League.BLACK : League.WHITE;
+	}
+}
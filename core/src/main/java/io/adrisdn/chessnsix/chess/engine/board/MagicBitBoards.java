@@ -0,0 +1,246 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+/**
+ * Precomputed magic bitboard attack tables for the sliding pieces. The attack
+ * set of a rook or bishop on a tile only depends on the pieces standing on its
+ * rays, so every relevant occupancy is hashed with a magic multiplier into a
+ * table that holds the attacks for it. A slider's full attack set is then one
+ * multiplication, one shift and one array lookup.
+ */
+public final class MagicBitBoards {
+
+	/**
+	 * Magic multipliers for the rook, indexed by tile coordinate. They were found
+	 * with a random trial search over sparse candidates for the a8 = 0 tile
+	 * numbering used by {@link BitBoard}.
+	 */
+	private static final long[] ROOK_MAGICS = {
+			0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+			0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+			0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+			0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+			0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+			0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+			0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+			0x0442000A00049020L, 0x2100040080020080L, 0x0800120400900148L, 0x0010040A00128541L,
+			0x2800804000800030L, 0x1010002000400041L, 0x4000200011004100L, 0x0610008410800800L,
+			0x0400802402800800L, 0xC100020080800400L, 0x0002000802000401L, 0x0182085882000401L,
+			0x0220204000808000L, 0x2860100040024022L, 0x0001002004110040L, 0x99101042000A0020L,
+			0x0004080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+			0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+			0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+			0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+			0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+	};
+
+	/**
+	 * Magic multipliers for the bishop, indexed by tile coordinate.
+	 */
+	private static final long[] BISHOP_MAGICS = {
+			0xA010041108003100L, 0x006082020A002900L, 0x6810010619200000L, 0x08281A0520000408L,
+			0x0001104001000400L, 0x0018901008048400L, 0x00040A0210245280L, 0x000200210808A402L,
+			0x9140048410821200L, 0x0800091010820041L, 0x20504804832202C0L, 0x0100091401081000L,
+			0x8021011140000012L, 0x0810020804450400L, 0x208B0542109008A2L, 0x0080084A08040204L,
+			0x0040E2A80811244CL, 0x2505022008008108L, 0x0430220100420040L, 0x010A040420220040L,
+			0x1105000290400000L, 0x0093001200822120L, 0x4000A62048043004L, 0x280120048A015004L,
+			0x006090002A020814L, 0x44042000240800D0L, 0x01102800040A4400L, 0x1004080080220040L,
+			0x0001001011004024L, 0x0010044000805040L, 0x0914041200820100L, 0x0004821012821480L,
+			0x0024040500C05021L, 0x0088611002080200L, 0x0116080A00040020L, 0x4000020080080080L,
+			0x2450450140840040L, 0x0000880201484100L, 0x0222020404020092L, 0x8081110600002E00L,
+			0x2842101105000801L, 0x1100809008001025L, 0x00020202221C0400L, 0x0422014022009020L,
+			0x0210046102100C00L, 0xC004008082029102L, 0x00AA461801101200L, 0x0404080080201108L,
+			0x020542108C205002L, 0x0410544804100100L, 0x0040910841100000L, 0x0400200042021100L,
+			0x00004204850400C0L, 0x0200100410A42102L, 0x1040020801210102L, 0x0805040410420000L,
+			0x2884804130100200L, 0x800C262201242000L, 0x1058000194108800L, 0x0014221054420204L,
+			0x0104000012A02200L, 0x0200881003300100L, 0x0140400202840100L, 0x0402020801010201L
+	};
+
+	private static final int[][] ROOK_DIRECTIONS = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+	private static final int[][] BISHOP_DIRECTIONS = { { -1, -1 }, { -1, 1 }, { 1, -1 }, { 1, 1 } };
+
+	private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+	private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+	private static final int[] ROOK_SHIFTS = new int[BoardUtils.NUM_TILES];
+	private static final int[] BISHOP_SHIFTS = new int[BoardUtils.NUM_TILES];
+	private static final int[] ROOK_OFFSETS = new int[BoardUtils.NUM_TILES];
+	private static final int[] BISHOP_OFFSETS = new int[BoardUtils.NUM_TILES];
+	private static final long[] ROOK_ATTACKS = initAttackTable(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS,
+			ROOK_OFFSETS);
+	private static final long[] BISHOP_ATTACKS = initAttackTable(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS,
+			BISHOP_SHIFTS, BISHOP_OFFSETS);
+
+	private MagicBitBoards() {
+		throw new RuntimeException("Not instantiatable");
+	}
+
+	/**
+	 * Returns the tiles attacked by a rook.
+	 *
+	 * @param tileCoordinate coordinate of the rook.
+	 * @param occupancy      bitboard of every occupied tile.
+	 * @return the bitboard of the attacked tiles, including occupied ones.
+	 */
+	public static long getRookAttacks(final int tileCoordinate, final long occupancy) {
+		return ROOK_ATTACKS[ROOK_OFFSETS[tileCoordinate] + (int) (((occupancy & ROOK_MASKS[tileCoordinate])
+				* ROOK_MAGICS[tileCoordinate]) >>> ROOK_SHIFTS[tileCoordinate])];
+	}
+
+	/**
+	 * Returns the tiles attacked by a bishop.
+	 *
+	 * @param tileCoordinate coordinate of the bishop.
+	 * @param occupancy      bitboard of every occupied tile.
+	 * @return the bitboard of the attacked tiles, including occupied ones.
+	 */
+	public static long getBishopAttacks(final int tileCoordinate, final long occupancy) {
+		return BISHOP_ATTACKS[BISHOP_OFFSETS[tileCoordinate] + (int) (((occupancy & BISHOP_MASKS[tileCoordinate])
+				* BISHOP_MAGICS[tileCoordinate]) >>> BISHOP_SHIFTS[tileCoordinate])];
+	}
+
+	/**
+	 * Returns the tiles attacked by a queen.
+	 *
+	 * @param tileCoordinate coordinate of the queen.
+	 * @param occupancy      bitboard of every occupied tile.
+	 * @return the bitboard of the attacked tiles, including occupied ones.
+	 */
+	public static long getQueenAttacks(final int tileCoordinate, final long occupancy) {
+		return getRookAttacks(tileCoordinate, occupancy) | getBishopAttacks(tileCoordinate, occupancy);
+	}
+
+	/**
+	 * Returns the tiles strictly between two tiles that share a row, column or
+	 * diagonal.
+	 *
+	 * @param from first tile.
+	 * @param to   second tile.
+	 * @return the bitboard of the tiles between them, empty if they are not
+	 *         aligned.
+	 */
+	public static long getTilesBetween(final int from, final int to) {
+		if ((getRookAttacks(from, 0L) & BitBoard.tileBit(to)) != 0L) {
+			return getRookAttacks(from, BitBoard.tileBit(to)) & getRookAttacks(to, BitBoard.tileBit(from));
+		}
+		if ((getBishopAttacks(from, 0L) & BitBoard.tileBit(to)) != 0L) {
+			return getBishopAttacks(from, BitBoard.tileBit(to)) & getBishopAttacks(to, BitBoard.tileBit(from));
+		}
+		return 0L;
+	}
+
+	/**
+	 * Returns the whole row, column or diagonal that goes through two aligned
+	 * tiles, from edge to edge of the board.
+	 *
+	 * @param from first tile.
+	 * @param to   second tile.
+	 * @return the bitboard of the line, empty if the tiles are not aligned.
+	 */
+	public static long getLine(final int from, final int to) {
+		final long ends = BitBoard.tileBit(from) | BitBoard.tileBit(to);
+		if ((getRookAttacks(from, 0L) & BitBoard.tileBit(to)) != 0L) {
+			return (getRookAttacks(from, 0L) & getRookAttacks(to, 0L)) | ends;
+		}
+		if ((getBishopAttacks(from, 0L) & BitBoard.tileBit(to)) != 0L) {
+			return (getBishopAttacks(from, 0L) & getBishopAttacks(to, 0L)) | ends;
+		}
+		return 0L;
+	}
+
+	/**
+	 * Fills the masks, shifts and offsets of a sliding piece and builds its attack
+	 * table by enumerating every subset of each relevant occupancy mask.
+	 *
+	 * @param directions row and column steps of the piece's rays.
+	 * @param magics     magic multipliers of the piece.
+	 * @param masks      array to fill with the relevant occupancy masks.
+	 * @param shifts     array to fill with the index shifts.
+	 * @param offsets    array to fill with the start of each tile's table.
+	 * @return the attack table of the piece.
+	 */
+	private static long[] initAttackTable(final int[][] directions, final long[] magics, final long[] masks,
+			final int[] shifts, final int[] offsets) {
+		int tableSize = 0;
+		for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+			masks[tile] = calculateRelevantOccupancy(tile, directions);
+			shifts[tile] = Long.SIZE - Long.bitCount(masks[tile]);
+			offsets[tile] = tableSize;
+			tableSize += 1 << Long.bitCount(masks[tile]);
+		}
+		final long[] attacks = new long[tableSize];
+		for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+			final long mask = masks[tile];
+			long occupancy = 0L;
+			// Carry-Rippler enumeration of every subset of the mask
+			do {
+				final int index = offsets[tile] + (int) ((occupancy * magics[tile]) >>> shifts[tile]);
+				final long tileAttacks = calculateRayAttacks(tile, occupancy, directions);
+				if (attacks[index] != 0L && attacks[index] != tileAttacks) {
+					throw new IllegalStateException("Invalid magic number for tile " + tile);
+				}
+				attacks[index] = tileAttacks;
+				occupancy = (occupancy - mask) & mask;
+			} while (occupancy != 0L);
+		}
+		return attacks;
+	}
+
+	/**
+	 * Calculates the tiles whose occupancy can block the rays of a piece, which
+	 * are the tiles of the rays without the last one before the edge.
+	 *
+	 * @param tile       coordinate of the piece.
+	 * @param directions row and column steps of the piece's rays.
+	 * @return the relevant occupancy mask.
+	 */
+	private static long calculateRelevantOccupancy(final int tile, final int[][] directions) {
+		long mask = 0L;
+		for (final int[] direction : directions) {
+			int row = tile / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+			int column = tile % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+			while (isOnBoard(row + direction[0], column + direction[1])) {
+				mask |= BitBoard.tileBit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+				row += direction[0];
+				column += direction[1];
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Calculates the attacks of a piece by walking its rays until the edge of the
+	 * board or the first occupied tile.
+	 *
+	 * @param tile       coordinate of the piece.
+	 * @param occupancy  bitboard of the occupied tiles.
+	 * @param directions row and column steps of the piece's rays.
+	 * @return the bitboard of the attacked tiles.
+	 */
+	private static long calculateRayAttacks(final int tile, final long occupancy, final int[][] directions) {
+		long attacks = 0L;
+		for (final int[] direction : directions) {
+			int row = tile / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+			int column = tile % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+			while (isOnBoard(row, column)) {
+				final long bit = BitBoard.tileBit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+				attacks |= bit;
+				if ((occupancy & bit) != 0L) {
+					break;
+				}
+				row += direction[0];
+				column += direction[1];
+			}
+		}
+		return attacks;
+	}
+
+	/**
+	 * Returns true if a row and column are inside the board.
+	 *
+	 * @param row    row of the tile.
+	 * @param column column of the tile.
+	 * @return true if the tile exists, false otherwise.
+	 */
+	private static boolean isOnBoard(final int row, final int column) {
+		return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+	}
+}
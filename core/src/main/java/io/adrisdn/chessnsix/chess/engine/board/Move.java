@@ -6,6 +6,8 @@ import com.google.common.collect.ImmutableList;
 
 import io.adrisdn.chessnsix.chess.engine.pieces.Pawn;
 import io.adrisdn.chessnsix.chess.engine.pieces.Piece;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceUtils;
 import io.adrisdn.chessnsix.chess.engine.pieces.Rook;
 
 /**
@@ -160,30 +162,47 @@ public abstract class Move {
 		return null;
 	}
 
+	/**
+	 * Returns the move as an {@link EncodedMove}, the integer form used by the
+	 * search.
+	 *
+	 * @return the encoded move.
+	 */
+	public int getEncodedMove() {
+		return EncodedMove.encode(this.getCurrentCoordinate(), this.destinationCoordinate, EncodedMove.NORMAL_MOVE);
+	}
+
+	/**
+	 * Calculates the Zobrist key of the board after the move from the key of the
+	 * board before it.
+	 *
+	 * @return the key of the position after the move
+	 */
+	protected final long calculateZobristKey() {
+		final Pawn enPassantPawn = this.board.getEnPassantPawn();
+		return this.board.getZobristKey() ^ Zobrist.calculateMoveKey(this.board.getBitBoard(),
+				this.board.currentPlayer().getLeague(), this.board.getUnmovedPieces(),
+				enPassantPawn == null ? -1 : enPassantPawn.getPiecePosition(), this.getEncodedMove());
+	}
+
 	/**
 	 * Executes the move by creating a new Board object that reflects the new state
-	 * after the move.
+	 * after the move. The new board starts as a copy of the current one and only
+	 * the tiles changed by the move are set again.
 	 *
 	 * @return the board after the move
 	 */
 	public Board execute() {
 
-		final Board.Builder builder = new Board.Builder(this.board.getMoveCount() + 1,
-				this.board.currentPlayer().getOpponent().getLeague(), null)
-				.updateWhiteTimer(this.board.whitePlayer().getMinute(), this.board.whitePlayer().getSecond(),
-						this.board.whitePlayer().getMillisecond())
-				.updateBlackTimer(this.board.blackPlayer().getMinute(), this.board.blackPlayer().getSecond(),
-						this.board.blackPlayer().getMillisecond());
-
-		this.board.currentPlayer().getActivePieces().forEach(piece -> {
-			if (!this.movePiece.equals(piece)) {
-				builder.setPiece(piece);
-			}
-		});
-		this.board.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
+		final Board.Builder builder = new Board.Builder(this.board, null);
 
+		builder.clearTile(this.movePiece.getPiecePosition());
 		builder.setPiece(this.movePiece.movedPiece(this));
+		if (this.isAttack() || this.movePiece.getPieceType() == PieceType.PAWN) {
+			builder.setHalfmoveClock(0);
+		}
 		builder.setTransitionMove(this);
+		builder.setZobristKey(this.calculateZobristKey());
 
 		return builder.build();
 	}
@@ -393,29 +412,22 @@ public abstract class Move {
 			return this == object || object instanceof PawnEnPassantAttackMove && super.equals(object);
 		}
 
+		@Override
+		public int getEncodedMove() {
+			return EncodedMove.encode(super.getCurrentCoordinate(), super.getDestinationCoordinate(),
+					EncodedMove.EN_PASSANT);
+		}
+
 		@Override
 		public Board execute() {
-			final Board.Builder builder = new Board.Builder(super.getBoard().getMoveCount() + 1,
-					super.getBoard().currentPlayer().getOpponent().getLeague(), null)
-					.updateWhiteTimer(super.getBoard().whitePlayer().getMinute(),
-							super.getBoard().whitePlayer().getSecond(), super.getBoard().whitePlayer().getMillisecond())
-					.updateBlackTimer(super.getBoard().blackPlayer().getMinute(),
-							super.getBoard().blackPlayer().getSecond(),
-							super.getBoard().blackPlayer().getMillisecond());
-
-			super.getBoard().currentPlayer().getActivePieces().forEach(piece -> {
-				if (!super.getMovedPiece().equals(piece)) {
-					builder.setPiece(piece);
-				}
-			});
-			super.getBoard().currentPlayer().getOpponent().getActivePieces().forEach(piece -> {
-				if (!piece.equals(this.getAttackedPiece())) {
-					builder.setPiece(piece);
-				}
-			});
+			final Board.Builder builder = new Board.Builder(super.getBoard(), null);
 
+			builder.clearTile(super.getCurrentCoordinate());
+			builder.clearTile(this.getAttackedPiece().getPiecePosition());
 			builder.setPiece(super.getMovedPiece().movedPiece(this));
+			builder.setHalfmoveClock(0);
 			builder.setTransitionMove(this);
+			builder.setZobristKey(this.calculateZobristKey());
 
 			return builder.build();
 		}
@@ -492,27 +504,22 @@ public abstract class Move {
 			return true;
 		}
 
+		@Override
+		public int getEncodedMove() {
+			return EncodedMove.encode(super.getCurrentCoordinate(), super.getDestinationCoordinate(),
+					EncodedMove.PROMOTION, this.minimaxPromotionPiece.getPieceType());
+		}
+
 		@Override
 		public Board execute() {
 
-			final Board pawnMoveBoard = this.decoratedMove.execute();
-			final Board.Builder builder = new Board.Builder(super.getBoard().getMoveCount() + 1,
-					pawnMoveBoard.currentPlayer().getLeague(), null)
-					.updateWhiteTimer(super.getBoard().whitePlayer().getMinute(),
-							super.getBoard().whitePlayer().getSecond(), super.getBoard().whitePlayer().getMillisecond())
-					.updateBlackTimer(super.getBoard().blackPlayer().getMinute(),
-							super.getBoard().blackPlayer().getSecond(),
-							super.getBoard().blackPlayer().getMillisecond());
-
-			super.getBoard().currentPlayer().getActivePieces().forEach(piece -> {
-				if (!this.promotedPawn.equals(piece)) {
-					builder.setPiece(piece);
-				}
-			});
-			super.getBoard().currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
+			final Board.Builder builder = new Board.Builder(super.getBoard(), null);
 
 			this.setPromotedPiece(this.minimaxPromotionPiece);
+			builder.clearTile(this.promotedPawn.getPiecePosition());
 			builder.setPiece(this.minimaxPromotionPiece.movedPiece(this));
+			builder.setHalfmoveClock(0);
+			builder.setZobristKey(this.calculateZobristKey());
 			return builder.build();
 		}
 
@@ -561,27 +568,23 @@ public abstract class Move {
 			super(board, movePiece, destinationCoordinate);
 		}
 
+		@Override
+		public int getEncodedMove() {
+			return EncodedMove.encode(super.getCurrentCoordinate(), super.getDestinationCoordinate(),
+					EncodedMove.PAWN_JUMP);
+		}
+
 		@Override
 		public Board execute() {
 			final Pawn movedPawn = (Pawn) super.getMovedPiece().movedPiece(this);
 
-			final Board.Builder builder = new Board.Builder(super.getBoard().getMoveCount() + 1,
-					super.getBoard().currentPlayer().getOpponent().getLeague(), movedPawn)
-					.updateWhiteTimer(super.getBoard().whitePlayer().getMinute(),
-							super.getBoard().whitePlayer().getSecond(), super.getBoard().whitePlayer().getMillisecond())
-					.updateBlackTimer(super.getBoard().blackPlayer().getMinute(),
-							super.getBoard().blackPlayer().getSecond(),
-							super.getBoard().blackPlayer().getMillisecond());
-
-			super.getBoard().currentPlayer().getActivePieces().forEach(piece -> {
-				if (!super.getMovedPiece().equals(piece)) {
-					builder.setPiece(piece);
-				}
-			});
-			super.getBoard().currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
+			final Board.Builder builder = new Board.Builder(super.getBoard(), movedPawn);
 
+			builder.clearTile(super.getCurrentCoordinate());
 			builder.setPiece(movedPawn);
+			builder.setHalfmoveClock(0);
 			builder.setTransitionMove(this);
+			builder.setZobristKey(this.calculateZobristKey());
 			return builder.build();
 		}
 
@@ -632,26 +635,23 @@ public abstract class Move {
 			return true;
 		}
 
+		@Override
+		public int getEncodedMove() {
+			return EncodedMove.encode(super.getCurrentCoordinate(), this.castleRookStart,
+					this instanceof KingSideCastleMove ? EncodedMove.KING_SIDE_CASTLE : EncodedMove.QUEEN_SIDE_CASTLE);
+		}
+
 		@Override
 		public Board execute() {
 
-			final Board.Builder builder = new Board.Builder(super.getBoard().getMoveCount() + 1,
-					super.getBoard().currentPlayer().getOpponent().getLeague(), null)
-					.updateWhiteTimer(super.getBoard().whitePlayer().getMinute(),
-							super.getBoard().whitePlayer().getSecond(), super.getBoard().whitePlayer().getMillisecond())
-					.updateBlackTimer(super.getBoard().blackPlayer().getMinute(),
-							super.getBoard().blackPlayer().getSecond(),
-							super.getBoard().blackPlayer().getMillisecond());
-
-			super.getBoard().getAllPieces().forEach(piece -> {
-				if (!super.getMovedPiece().equals(piece) && !this.castleRook.equals(piece)) {
-					builder.setPiece(piece);
-				}
-			});
+			final Board.Builder builder = new Board.Builder(super.getBoard(), null);
 
+			builder.clearTile(super.getCurrentCoordinate());
+			builder.clearTile(this.castleRookStart);
 			builder.setPiece(super.getMovedPiece().movedPiece(this));
-			builder.setPiece(new Rook(this.castleRook.getLeague(), this.castleRookDestination, false));
+			builder.setPiece(PieceUtils.getRook(this.castleRook.getLeague(), this.castleRookDestination, false));
 			builder.setTransitionMove(this);
+			builder.setZobristKey(this.calculateZobristKey());
 			return builder.build();
 		}
 
@@ -761,6 +761,11 @@ public abstract class Move {
 		public int getCurrentCoordinate() {
 			return -1;
 		}
+
+		@Override
+		public int getEncodedMove() {
+			return EncodedMove.NULL_MOVE;
+		}
 	}
 
 	/**
@@ -812,5 +817,86 @@ public abstract class Move {
 			return ImmutableList.copyOf(possibleMoves);
 		}
 
+		/**
+		 * Builds the move that corresponds to an encoded move on a board, without
+		 * checking that it is legal.
+		 *
+		 * @param board       the board where the move is happening
+		 * @param encodedMove the encoded move
+		 * @return the decoded move
+		 */
+		public static Move decodeMove(final Board board, final int encodedMove) {
+			final int currentCoordinate = EncodedMove.getCurrentCoordinate(encodedMove);
+			final int destinationCoordinate = EncodedMove.getDestinationCoordinate(encodedMove);
+			final Piece piece = board.getPiece(currentCoordinate);
+			switch (EncodedMove.getFlag(encodedMove)) {
+				case EncodedMove.PAWN_JUMP:
+					return new PawnJump(board, piece, destinationCoordinate);
+				case EncodedMove.EN_PASSANT:
+					return new PawnEnPassantAttackMove(board, piece, destinationCoordinate, board.getEnPassantPawn());
+				case EncodedMove.KING_SIDE_CASTLE:
+				case EncodedMove.QUEEN_SIDE_CASTLE:
+					return decodeCastleMove(board, piece, destinationCoordinate,
+							EncodedMove.getFlag(encodedMove) == EncodedMove.KING_SIDE_CASTLE);
+				case EncodedMove.PROMOTION:
+					return new PawnPromotion(decodePieceMove(board, piece, destinationCoordinate),
+							promotionPiece(EncodedMove.getPromotionType(encodedMove), piece, destinationCoordinate));
+				default:
+					return decodePieceMove(board, piece, destinationCoordinate);
+			}
+		}
+
+		private static Move decodePieceMove(final Board board, final Piece piece, final int destinationCoordinate) {
+			final Piece attackedPiece = board.getPiece(destinationCoordinate);
+			if (piece.getPieceType() == PieceType.PAWN) {
+				return attackedPiece == null ? new PawnMove(board, piece, destinationCoordinate)
+						: new PawnAttackMove(board, piece, destinationCoordinate, attackedPiece);
+			}
+			return attackedPiece == null ? new MajorMove(board, piece, destinationCoordinate)
+					: new MajorAttackMove(board, piece, destinationCoordinate, attackedPiece);
+		}
+
+		private static Move decodeCastleMove(final Board board, final Piece king, final int rookStart,
+				final boolean kingSide) {
+			final CastlingRules castlingRules = board.getCastlingRules();
+			final int kingDestination = castlingRules.getKingDestination(king.getLeague(), kingSide);
+			final int rookDestination = castlingRules.getRookDestination(king.getLeague(), kingSide);
+			final Rook rook = (Rook) board.getPiece(rookStart);
+			return kingSide ? new KingSideCastleMove(board, king, kingDestination, rook, rookStart, rookDestination)
+					: new QueenSideCastleMove(board, king, kingDestination, rook, rookStart, rookDestination);
+		}
+
+		private static Piece promotionPiece(final PieceType promotionType, final Piece pawn,
+				final int destinationCoordinate) {
+			switch (promotionType) {
+				case QUEEN:
+					return PieceUtils.getQueen(pawn.getLeague(), destinationCoordinate, false);
+				case ROOK:
+					return PieceUtils.getRook(pawn.getLeague(), destinationCoordinate, false);
+				case BISHOP:
+					return PieceUtils.getBishop(pawn.getLeague(), destinationCoordinate, false);
+				default:
+					return PieceUtils.getKnight(pawn.getLeague(), destinationCoordinate, false);
+			}
+		}
+
+		/**
+		 * Obtains the legal move of the current player that corresponds to an
+		 * encoded move, used to turn the moves chosen by the search into moves that
+		 * can be executed and shown.
+		 *
+		 * @param board       the board where the move is happening
+		 * @param encodedMove the encoded move
+		 * @return the legal move, or a null move if no legal move matches
+		 */
+		public static Move createMove(final Board board, final int encodedMove) {
+			for (final Move move : board.currentPlayer().getLegalMoves()) {
+				if (move.getEncodedMove() == encodedMove) {
+					return move;
+				}
+			}
+			return NULL_MOVE;
+		}
+
 	}
 }
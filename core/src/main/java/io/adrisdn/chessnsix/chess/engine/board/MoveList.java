@@ -0,0 +1,116 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+/**
+ * Reusable buffer of encoded moves. The search keeps one list per ply and
+ * clears it instead of allocating a new collection at every node. Every move
+ * can carry a score, used to sort the moves before searching them.
+ */
+public final class MoveList {
+
+	/**
+	 * Maximum number of moves a list can hold, above the number of legal moves of
+	 * any chess position.
+	 */
+	public static final int MAX_MOVES = 256;
+
+	private final int[] moves;
+	private final long[] scores;
+	private int size;
+
+	/**
+	 * Initializes an empty list.
+	 */
+	public MoveList() {
+		this.moves = new int[MAX_MOVES];
+		this.scores = new long[MAX_MOVES];
+		this.size = 0;
+	}
+
+	/**
+	 * Adds an encoded move at the end of the list.
+	 *
+	 * @param move encoded move.
+	 */
+	public void add(final int move) {
+		this.moves[this.size++] = move;
+	}
+
+	/**
+	 * Returns the encoded move at an index.
+	 *
+	 * @param index index of the move.
+	 * @return the encoded move.
+	 */
+	public int get(final int index) {
+		return this.moves[index];
+	}
+
+	/**
+	 * Returns the number of moves in the list.
+	 *
+	 * @return the number of moves.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns true if the list holds no moves.
+	 *
+	 * @return true if the list is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Removes every move from the list.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Sets the score of the move at an index.
+	 *
+	 * @param index index of the move.
+	 * @param score score of the move, higher scores are sorted first.
+	 */
+	public void setScore(final int index, final long score) {
+		this.scores[index] = score;
+	}
+
+	/**
+	 * Sorts the moves by descending score, keeping the order in which moves with
+	 * the same score were added.
+	 */
+	public void sortByScore() {
+		for (int i = 1; i < this.size; i++) {
+			final int move = this.moves[i];
+			final long score = this.scores[i];
+			int j = i - 1;
+			while (j >= 0 && this.scores[j] < score) {
+				this.moves[j + 1] = this.moves[j];
+				this.scores[j + 1] = this.scores[j];
+				j--;
+			}
+			this.moves[j + 1] = move;
+			this.scores[j + 1] = score;
+		}
+	}
+
+	/**
+	 * Returns true if the list holds an encoded move.
+	 *
+	 * @param move encoded move.
+	 * @return true if the move is in the list, false otherwise.
+	 */
+	public boolean contains(final int move) {
+		for (int i = 0; i < this.size; i++) {
+			if (this.moves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
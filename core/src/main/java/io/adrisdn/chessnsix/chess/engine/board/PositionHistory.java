@@ -0,0 +1,72 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+/**
+ * Zobrist keys of the positions of a game, kept as a chain from every board to
+ * the one before it. A position can only repeat while no pawn has moved and no
+ * piece has been captured, so the chain is cut at every such move and only
+ * holds the positions covered by the halfmove clock.
+ */
+final class PositionHistory {
+
+	private final long zobristKey;
+	private final int repetitions;
+	private final PositionHistory previous;
+
+	/**
+	 * Adds a position to the history of the game.
+	 *
+	 * @param zobristKey    key of the new position.
+	 * @param halfmoveClock plies since the last pawn move or capture.
+	 * @param previous      history up to the previous position, or null if there
+	 *                      is none.
+	 */
+	PositionHistory(final long zobristKey, final int halfmoveClock, final PositionHistory previous) {
+		this.zobristKey = zobristKey;
+		this.previous = halfmoveClock == 0 ? null : previous;
+		this.repetitions = this.countRepetitions(halfmoveClock);
+	}
+
+	/**
+	 * Returns the key of the position.
+	 *
+	 * @return the Zobrist key.
+	 */
+	long getZobristKey() {
+		return this.zobristKey;
+	}
+
+	/**
+	 * Returns the history up to the previous position.
+	 *
+	 * @return the previous entry, or null if the position cannot repeat an earlier
+	 *         one.
+	 */
+	PositionHistory getPrevious() {
+		return this.previous;
+	}
+
+	/**
+	 * Returns how many times the position has occurred before in the game.
+	 *
+	 * @return 0 the first time the position occurs, 1 the second time, and so on.
+	 */
+	int getRepetitions() {
+		return this.repetitions;
+	}
+
+	/**
+	 * Looks for the last occurrence of the position, which is enough since that
+	 * one already counts the occurrences before it. Only positions with the same
+	 * side to move, an even number of plies back, can be equal.
+	 */
+	private int countRepetitions(final int halfmoveClock) {
+		PositionHistory position = this.previous;
+		for (int plies = 1; position != null && plies <= halfmoveClock; plies++) {
+			if (plies % 2 == 0 && position.zobristKey == this.zobristKey) {
+				return position.repetitions + 1;
+			}
+			position = position.previous;
+		}
+		return 0;
+	}
+}
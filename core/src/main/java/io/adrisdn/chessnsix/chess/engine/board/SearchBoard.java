@@ -0,0 +1,712 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.pieces.Pawn;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
+
+/**
+ * Mutable position used by the search. Unlike {@link Board}, which is an
+ * immutable snapshot rebuilt after every move, a search board is updated in
+ * place by {@link #makeMove(int)} and restored by {@link #unmakeMove()}. The
+ * moves made are kept in an undo stack, together with a stack of the state
+ * they overwrite (en passant pawn, unmoved pieces, castled kings, halfmove
+ * clock and Zobrist key), so the search can walk the game tree without
+ * allocating a board per node.
+ *
+ * The keys of the positions of the game and of the search are kept in order,
+ * so a repeated position can be found by looking back over the halfmove clock.
+ * A table counting the keys met so far, indexed by their lowest bits, answers
+ * most of those checks without looking back at all.
+ *
+ * Moves are handled as {@link EncodedMove} integers, and the legal moves of
+ * every ply are generated into a {@link MoveList} owned by the board and
+ * reused by later nodes at the same ply.
+ */
+public final class SearchBoard {
+
+	/**
+	 * Maximum number of moves that can be made on the board, and so the deepest
+	 * ply a search on it can reach.
+	 */
+	public static final int MAX_PLY = 256;
+	private static final int NO_TILE = -1;
+	private static final int CAPTURES = 1;
+	private static final int QUIETS = 2;
+	private static final int REPETITION_FILTER_SIZE = 1 << 12;
+	private static final PieceType[] PROMOTION_TYPES = { PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP,
+			PieceType.KNIGHT };
+
+	private final BitBoard bitBoard;
+	private League currentLeague;
+	private int enPassantPawn;
+	private long unmovedPieces;
+	private int castledLeagues;
+	private long zobristKey;
+	private int halfmoveClock;
+	private final CastlingRules castlingRules;
+	private final boolean transitionAttack;
+
+	private int ply;
+	private final int[] moveStack;
+	private final int[] capturedStack;
+	private final int[] enPassantStack;
+	private final long[] unmovedStack;
+	private final int[] castledStack;
+	private final long[] zobristStack;
+	private final int[] halfmoveStack;
+	private final long[] keyHistory;
+	private final int rootIndex;
+	private final int[] repetitionFilter;
+	private final MoveList[][] moveLists;
+	private final MoveList scratchMoves;
+	private final int[] exchangeGains;
+
+	private int kingPosition;
+	private long checkers;
+	private long checkMask;
+	private long pinned;
+	private long attackedTiles;
+
+	/**
+	 * Initializes a search board with the position of a board.
+	 *
+	 * @param board board to copy.
+	 */
+	public SearchBoard(final Board board) {
+		this.bitBoard = new BitBoard(board.getBitBoard());
+		this.currentLeague = board.currentPlayer().getLeague();
+		final Pawn enPassantPawn = board.getEnPassantPawn();
+		this.enPassantPawn = enPassantPawn == null ? NO_TILE : enPassantPawn.getPiecePosition();
+		this.unmovedPieces = board.getUnmovedPieces();
+		this.zobristKey = board.getZobristKey();
+		this.castlingRules = board.getCastlingRules();
+		this.castledLeagues = (board.whitePlayer().isCastled() ? 1 << League.WHITE.ordinal() : 0)
+				| (board.blackPlayer().isCastled() ? 1 << League.BLACK.ordinal() : 0);
+		this.transitionAttack = board.getTransitionMove().isAttack();
+		this.ply = 0;
+		this.moveStack = new int[MAX_PLY];
+		this.capturedStack = new int[MAX_PLY];
+		this.enPassantStack = new int[MAX_PLY];
+		this.unmovedStack = new long[MAX_PLY];
+		this.castledStack = new int[MAX_PLY];
+		this.zobristStack = new long[MAX_PLY];
+		this.halfmoveStack = new int[MAX_PLY];
+		this.halfmoveClock = board.getHalfmoveClock();
+		this.repetitionFilter = new int[REPETITION_FILTER_SIZE];
+		int gamePlies = 0;
+		for (PositionHistory position = board.getPositionHistory(); position.getPrevious() != null; position = position
+				.getPrevious()) {
+			gamePlies++;
+		}
+		this.rootIndex = gamePlies;
+		this.keyHistory = new long[gamePlies + MAX_PLY + 1];
+		this.keyHistory[gamePlies] = this.zobristKey;
+		PositionHistory position = board.getPositionHistory().getPrevious();
+		for (int i = gamePlies - 1; i >= 0; i--) {
+			this.keyHistory[i] = position.getZobristKey();
+			this.repetitionFilter[filterIndex(this.keyHistory[i])]++;
+			position = position.getPrevious();
+		}
+		this.moveLists = new MoveList[League.values().length][MAX_PLY + 1];
+		this.scratchMoves = new MoveList();
+		this.exchangeGains = new int[StaticExchange.MAX_CAPTURES];
+	}
+
+	/**
+	 * Returns the type of the piece moved by an encoded move in the current
+	 * position.
+	 *
+	 * @param move encoded move.
+	 * @return the type of the moved piece.
+	 */
+	public PieceType getMovedPieceType(final int move) {
+		return this.bitBoard.getPieceType(EncodedMove.getCurrentCoordinate(move));
+	}
+
+	/**
+	 * Returns the type of the piece captured by an encoded move in the current
+	 * position.
+	 *
+	 * @param move encoded move.
+	 * @return the type of the captured piece, or null if the move does not
+	 *         capture.
+	 */
+	public PieceType getAttackedPieceType(final int move) {
+		final int flag = EncodedMove.getFlag(move);
+		if (flag == EncodedMove.EN_PASSANT) {
+			return PieceType.PAWN;
+		}
+		if (EncodedMove.isCastlingMove(move)) {
+			return null;
+		}
+		return this.bitBoard.getPieceType(EncodedMove.getDestinationCoordinate(move));
+	}
+
+	/**
+	 * Evaluates the exchange of pieces started by an encoded move on its
+	 * destination tile.
+	 *
+	 * @param move encoded move.
+	 * @return the material won by the league to move, negative if it loses
+	 *         material.
+	 * @see StaticExchange#evaluate(BitBoard, int, int[])
+	 */
+	public int staticExchangeEvaluation(final int move) {
+		return StaticExchange.evaluate(this.bitBoard, move, this.exchangeGains);
+	}
+
+	/**
+	 * Returns the league that moves next.
+	 *
+	 * @return the league to move.
+	 */
+	public League getCurrentLeague() {
+		return this.currentLeague;
+	}
+
+	/**
+	 * Returns the bitboard of the current position. It changes with every move
+	 * made or unmade.
+	 *
+	 * @return the bitboard of the position.
+	 */
+	public BitBoard getBitBoard() {
+		return this.bitBoard;
+	}
+
+	/**
+	 * Returns the Zobrist key of the current position, updated with every move
+	 * made or unmade.
+	 *
+	 * @return the key of the position.
+	 */
+	public long getZobristKey() {
+		return this.zobristKey;
+	}
+
+	/**
+	 * Returns true if the king of a league has castled.
+	 *
+	 * @param league league of the king.
+	 * @return true if the king has castled, false otherwise.
+	 */
+	public boolean isCastled(final League league) {
+		return (this.castledLeagues & (1 << league.ordinal())) != 0;
+	}
+
+	/**
+	 * Returns true if the king of a league is in check.
+	 *
+	 * @param league league of the king.
+	 * @return true if the king is in check, false otherwise.
+	 */
+	public boolean isInCheck(final League league) {
+		return KingSafety.calculateCheckers(this.bitBoard, league, this.bitBoard.getKingPosition(league)) != 0L;
+	}
+
+	/**
+	 * Returns true if the current position has already occurred, in the game or
+	 * in the search, which the search scores as a draw.
+	 *
+	 * @return true if the position is repeated, false otherwise.
+	 */
+	public boolean isRepetition() {
+		if (this.repetitionFilter[filterIndex(this.zobristKey)] == 0) {
+			return false;
+		}
+		final int current = this.rootIndex + this.ply;
+		final int oldest = Math.max(0, current - this.halfmoveClock);
+		// the position two plies back cannot be the same, each player has moved once
+		for (int i = current - 4; i >= oldest; i -= 2) {
+			if (this.keyHistory[i] == this.zobristKey) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if fifty moves of each player have been made without moving a
+	 * pawn or capturing a piece.
+	 *
+	 * @return true if the position is drawn by the fifty-move rule.
+	 */
+	public boolean isFiftyMoveRule() {
+		return this.halfmoveClock >= BoardUtils.FIFTY_MOVE_RULE_PLIES;
+	}
+
+	/**
+	 * Returns true if neither league has enough material left to checkmate.
+	 *
+	 * @return true if the position is drawn by insufficient material.
+	 */
+	public boolean isInsufficientMaterial() {
+		return this.bitBoard.isInsufficientMaterial();
+	}
+
+	/**
+	 * Returns true if a previous move captured a piece.
+	 *
+	 * @param pliesAgo number of moves before the last one, 0 for the last move.
+	 * @return true if the move was an attack, false otherwise or if there is no
+	 *         such move.
+	 */
+	public boolean wasAttackMove(final int pliesAgo) {
+		final int index = this.ply - 1 - pliesAgo;
+		if (index >= 0) {
+			return this.capturedStack[index] != BitBoard.EMPTY;
+		}
+		return index == -1 && this.transitionAttack;
+	}
+
+	/**
+	 * Calculates the legal moves of a league in the current position, whether it
+	 * is the league to move or not. The moves are written into the list of the
+	 * league for the current ply, which is returned and stays valid until the
+	 * next call for the same league at the same ply.
+	 *
+	 * @param league league whose moves are calculated.
+	 * @return the list with the encoded legal moves.
+	 */
+	public MoveList calculateLegalMoves(final League league) {
+		final MoveList moves = this.moveListAt(league);
+		this.generateMoves(league, moves, CAPTURES | QUIETS, ~0L);
+		return moves;
+	}
+
+	/**
+	 * Calculates the legal captures and promotions of a league in the current
+	 * position, whether it is the league to move or not. The moves are written
+	 * into the same list as {@link #calculateLegalMoves(League)}, which is
+	 * returned.
+	 *
+	 * @param league league whose moves are calculated.
+	 * @return the list with the encoded captures and promotions.
+	 */
+	public MoveList calculateCaptures(final League league) {
+		final MoveList moves = this.moveListAt(league);
+		this.generateMoves(league, moves, CAPTURES, ~0L);
+		return moves;
+	}
+
+	/**
+	 * Adds the legal captures and promotions of the league to move to a list.
+	 * Together with {@link #calculateQuietMoves(MoveList)} they make up every
+	 * legal move of the position, so the search can try the captures first and
+	 * only generate the rest when they do not cut the node off.
+	 *
+	 * @param moves list where the encoded moves are added.
+	 */
+	public void calculateCaptures(final MoveList moves) {
+		this.generateMoves(this.currentLeague, moves, CAPTURES, ~0L);
+	}
+
+	/**
+	 * Adds the legal moves of the league to move that neither capture nor
+	 * promote to a list, castling included.
+	 *
+	 * @param moves list where the encoded moves are added.
+	 */
+	public void calculateQuietMoves(final MoveList moves) {
+		this.generateMoves(this.currentLeague, moves, QUIETS, ~0L);
+	}
+
+	/**
+	 * Returns true if an encoded move is legal for the league to move, which is
+	 * needed for moves remembered from other positions. Only the moves of the
+	 * piece on the starting tile of the move are generated.
+	 *
+	 * @param move encoded move.
+	 * @return true if the move is legal in the current position, false otherwise.
+	 */
+	public boolean isLegalMove(final int move) {
+		if (move == EncodedMove.NULL_MOVE) {
+			return false;
+		}
+		this.scratchMoves.clear();
+		this.generateMoves(this.currentLeague, this.scratchMoves, CAPTURES | QUIETS,
+				BitBoard.tileBit(EncodedMove.getCurrentCoordinate(move)));
+		return this.scratchMoves.contains(move);
+	}
+
+	/**
+	 * Returns true if the league to move has at least one legal move. The king is
+	 * tried first and the other pieces one by one, stopping at the first legal
+	 * move, which is enough to tell checkmate and stalemate apart from any other
+	 * position.
+	 *
+	 * @return true if the league to move can move, false otherwise.
+	 */
+	public boolean hasAnyLegalMove() {
+		return this.countMoves(this.currentLeague, true) != 0;
+	}
+
+	/**
+	 * Counts the legal moves of a league in the current position, whether it is
+	 * the league to move or not, without writing them anywhere.
+	 *
+	 * @param league league whose moves are counted.
+	 * @return the number of legal moves.
+	 */
+	public int countLegalMoves(final League league) {
+		return this.countMoves(league, false);
+	}
+
+	/**
+	 * Returns the number of moves made on the board since it was created.
+	 *
+	 * @return the current ply.
+	 */
+	public int getPly() {
+		return this.ply;
+	}
+
+	/**
+	 * Adds the legal moves of a league to a list, in the order pawns, knights,
+	 * bishops, rooks, queens and king.
+	 *
+	 * @param league  league whose moves are calculated.
+	 * @param moves   list where the encoded moves are added.
+	 * @param kinds   {@link #CAPTURES}, {@link #QUIETS} or both.
+	 * @param origins bitboard of the tiles whose pieces are moved.
+	 */
+	private void generateMoves(final League league, final MoveList moves, final int kinds, final long origins) {
+		this.analyseKingSafety(league);
+		final boolean captures = (kinds & CAPTURES) != 0;
+		final boolean quiets = (kinds & QUIETS) != 0;
+		final League opponent = opponentOf(league);
+		final long opponentPieces = this.bitBoard.getPieces(opponent);
+		final long occupancy = this.bitBoard.getOccupancy();
+		final long targets = (captures ? opponentPieces : 0L) | (quiets ? ~occupancy : 0L);
+
+		long pawns = this.bitBoard.getPieces(league, PieceType.PAWN) & origins;
+		while (pawns != 0L) {
+			final int from = Long.numberOfTrailingZeros(pawns);
+			pawns &= pawns - 1;
+			final long legalDestinations = this.calculateLegalDestinations(from);
+			final int pushCoordinate = from + 8 * league.getDirection();
+			if ((occupancy & BitBoard.tileBit(pushCoordinate)) == 0L) {
+				if ((legalDestinations & BitBoard.tileBit(pushCoordinate)) != 0L
+						&& (league.isPawnPromotionSquare(pushCoordinate) ? captures : quiets)) {
+					addPawnMoves(moves, league, from, pushCoordinate);
+				}
+				final int jumpCoordinate = pushCoordinate + 8 * league.getDirection();
+				if (quiets && isPawnStartTile(league, from) && (occupancy & BitBoard.tileBit(jumpCoordinate)) == 0L
+						&& (legalDestinations & BitBoard.tileBit(jumpCoordinate)) != 0L) {
+					moves.add(EncodedMove.encode(from, jumpCoordinate, EncodedMove.PAWN_JUMP));
+				}
+			}
+			if (!captures) {
+				continue;
+			}
+			final long pawnAttacks = AttackTables.getPawnAttacks(league, from);
+			long pawnCaptures = pawnAttacks & opponentPieces & legalDestinations;
+			while (pawnCaptures != 0L) {
+				addPawnMoves(moves, league, from, Long.numberOfTrailingZeros(pawnCaptures));
+				pawnCaptures &= pawnCaptures - 1;
+			}
+			if (this.enPassantPawn != NO_TILE
+					&& (this.bitBoard.getPieces(opponent, PieceType.PAWN) & BitBoard.tileBit(this.enPassantPawn)) != 0L) {
+				final int enPassantCoordinate = this.enPassantPawn + 8 * league.getDirection();
+				if ((pawnAttacks & BitBoard.tileBit(enPassantCoordinate)) != 0L
+						&& (occupancy & BitBoard.tileBit(enPassantCoordinate)) == 0L
+						&& KingSafety.isLegalEnPassant(this.bitBoard, league, this.kingPosition, from,
+								enPassantCoordinate, this.enPassantPawn)) {
+					moves.add(EncodedMove.encode(from, enPassantCoordinate, EncodedMove.EN_PASSANT));
+				}
+			}
+		}
+
+		long knights = this.bitBoard.getPieces(league, PieceType.KNIGHT) & origins;
+		while (knights != 0L) {
+			final int from = Long.numberOfTrailingZeros(knights);
+			knights &= knights - 1;
+			addMoves(moves, from, AttackTables.getKnightAttacks(from) & targets & this.calculateLegalDestinations(from));
+		}
+		long bishops = this.bitBoard.getPieces(league, PieceType.BISHOP) & origins;
+		while (bishops != 0L) {
+			final int from = Long.numberOfTrailingZeros(bishops);
+			bishops &= bishops - 1;
+			addMoves(moves, from, MagicBitBoards.getBishopAttacks(from, occupancy) & targets
+					& this.calculateLegalDestinations(from));
+		}
+		long rooks = this.bitBoard.getPieces(league, PieceType.ROOK) & origins;
+		while (rooks != 0L) {
+			final int from = Long.numberOfTrailingZeros(rooks);
+			rooks &= rooks - 1;
+			addMoves(moves, from, MagicBitBoards.getRookAttacks(from, occupancy) & targets
+					& this.calculateLegalDestinations(from));
+		}
+		long queens = this.bitBoard.getPieces(league, PieceType.QUEEN) & origins;
+		while (queens != 0L) {
+			final int from = Long.numberOfTrailingZeros(queens);
+			queens &= queens - 1;
+			addMoves(moves, from, MagicBitBoards.getQueenAttacks(from, occupancy) & targets
+					& this.calculateLegalDestinations(from));
+		}
+
+		if (this.kingPosition != BoardUtils.NUM_TILES && (origins & BitBoard.tileBit(this.kingPosition)) != 0L) {
+			addMoves(moves, this.kingPosition, AttackTables.getKingAttacks(this.kingPosition) & targets
+					& this.calculateLegalDestinations(this.kingPosition));
+			if (quiets && this.checkers == 0L && !this.isCastled(league)
+					&& (this.unmovedPieces & BitBoard.tileBit(this.kingPosition)) != 0L) {
+				if (this.castlingRules.isCastlingAllowed(this.bitBoard, league, true, this.unmovedPieces)) {
+					moves.add(EncodedMove.encode(this.kingPosition, this.castlingRules.getRookStart(league, true),
+							EncodedMove.KING_SIDE_CASTLE));
+				}
+				if (this.castlingRules.isCastlingAllowed(this.bitBoard, league, false, this.unmovedPieces)) {
+					moves.add(EncodedMove.encode(this.kingPosition, this.castlingRules.getRookStart(league, false),
+							EncodedMove.QUEEN_SIDE_CASTLE));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Counts the legal moves of a league, the king first, then the knights,
+	 * bishops, rooks and queens, and the pawns last. The moves of every piece but
+	 * the pawns are counted from their destinations at once.
+	 *
+	 * @param league      league whose moves are counted.
+	 * @param stopAtFirst true to stop as soon as a legal move is found.
+	 * @return the number of legal moves, or a positive number smaller than it if
+	 *         the count stopped early.
+	 */
+	private int countMoves(final League league, final boolean stopAtFirst) {
+		this.analyseKingSafety(league);
+		final long ownPieces = this.bitBoard.getPieces(league);
+		final long occupancy = this.bitBoard.getOccupancy();
+		int count = 0;
+
+		if (this.kingPosition != BoardUtils.NUM_TILES) {
+			count += Long.bitCount(AttackTables.getKingAttacks(this.kingPosition) & ~ownPieces
+					& this.calculateLegalDestinations(this.kingPosition));
+			if (stopAtFirst && count != 0) {
+				return count;
+			}
+			if (Long.bitCount(this.checkers) > 1) {
+				return count;
+			}
+			if (this.checkers == 0L && !this.isCastled(league)
+					&& (this.unmovedPieces & BitBoard.tileBit(this.kingPosition)) != 0L) {
+				if (this.castlingRules.isCastlingAllowed(this.bitBoard, league, true, this.unmovedPieces)) {
+					count++;
+				}
+				if (this.castlingRules.isCastlingAllowed(this.bitBoard, league, false, this.unmovedPieces)) {
+					count++;
+				}
+			}
+		}
+
+		long pieces = this.bitBoard.getPieces(league) & ~this.bitBoard.getPieces(league, PieceType.PAWN)
+				& ~this.bitBoard.getPieces(league, PieceType.KING);
+		while (pieces != 0L) {
+			if (stopAtFirst && count != 0) {
+				return count;
+			}
+			final int from = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			final long attacks;
+			switch (this.bitBoard.getPieceType(from)) {
+				case KNIGHT:
+					attacks = AttackTables.getKnightAttacks(from);
+					break;
+				case BISHOP:
+					attacks = MagicBitBoards.getBishopAttacks(from, occupancy);
+					break;
+				case ROOK:
+					attacks = MagicBitBoards.getRookAttacks(from, occupancy);
+					break;
+				default:
+					attacks = MagicBitBoards.getQueenAttacks(from, occupancy);
+					break;
+			}
+			count += Long.bitCount(attacks & ~ownPieces & this.calculateLegalDestinations(from));
+		}
+
+		final League opponent = opponentOf(league);
+		final long opponentPieces = this.bitBoard.getPieces(opponent);
+		long pawns = this.bitBoard.getPieces(league, PieceType.PAWN);
+		while (pawns != 0L) {
+			if (stopAtFirst && count != 0) {
+				return count;
+			}
+			final int from = Long.numberOfTrailingZeros(pawns);
+			pawns &= pawns - 1;
+			final long legalDestinations = this.calculateLegalDestinations(from);
+			final int pushCoordinate = from + 8 * league.getDirection();
+			long destinations = AttackTables.getPawnAttacks(league, from) & opponentPieces;
+			if ((occupancy & BitBoard.tileBit(pushCoordinate)) == 0L) {
+				destinations |= BitBoard.tileBit(pushCoordinate);
+				final int jumpCoordinate = pushCoordinate + 8 * league.getDirection();
+				if (isPawnStartTile(league, from) && (occupancy & BitBoard.tileBit(jumpCoordinate)) == 0L
+						&& (legalDestinations & BitBoard.tileBit(jumpCoordinate)) != 0L) {
+					count++;
+				}
+			}
+			count += Long.bitCount(destinations & legalDestinations)
+					* (league.isPawnPromotionSquare(pushCoordinate) ? PROMOTION_TYPES.length : 1);
+			if (this.enPassantPawn != NO_TILE
+					&& (this.bitBoard.getPieces(opponent, PieceType.PAWN) & BitBoard.tileBit(this.enPassantPawn)) != 0L) {
+				final int enPassantCoordinate = this.enPassantPawn + 8 * league.getDirection();
+				if ((AttackTables.getPawnAttacks(league, from) & BitBoard.tileBit(enPassantCoordinate)) != 0L
+						&& (occupancy & BitBoard.tileBit(enPassantCoordinate)) == 0L
+						&& KingSafety.isLegalEnPassant(this.bitBoard, league, this.kingPosition, from,
+								enPassantCoordinate, this.enPassantPawn)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Plays a legal move on the board, saving what is needed to take it back.
+	 *
+	 * @param move encoded move to play.
+	 */
+	public void makeMove(final int move) {
+		final League league = this.currentLeague;
+		final int from = EncodedMove.getCurrentCoordinate(move);
+		final int to = EncodedMove.getDestinationCoordinate(move);
+		final int flag = EncodedMove.getFlag(move);
+
+		this.moveStack[this.ply] = move;
+		this.enPassantStack[this.ply] = this.enPassantPawn;
+		this.unmovedStack[this.ply] = this.unmovedPieces;
+		this.castledStack[this.ply] = this.castledLeagues;
+		this.zobristStack[this.ply] = this.zobristKey;
+		this.halfmoveStack[this.ply] = this.halfmoveClock;
+		this.repetitionFilter[filterIndex(this.zobristKey)]++;
+		this.zobristKey ^= Zobrist.calculateMoveKey(this.bitBoard, league, this.unmovedPieces, this.enPassantPawn,
+				move);
+
+		int captured = BitBoard.EMPTY;
+		boolean pawnMove = false;
+		if (EncodedMove.isCastlingMove(move)) {
+			final boolean kingSide = flag == EncodedMove.KING_SIDE_CASTLE;
+			this.bitBoard.removePiece(from);
+			this.bitBoard.removePiece(to);
+			this.bitBoard.setPiece(this.castlingRules.getKingDestination(league, kingSide), league, PieceType.KING);
+			this.bitBoard.setPiece(this.castlingRules.getRookDestination(league, kingSide), league, PieceType.ROOK);
+			this.castledLeagues |= 1 << league.ordinal();
+		} else {
+			final int capturedCoordinate = flag == EncodedMove.EN_PASSANT ? this.enPassantPawn : to;
+			captured = this.bitBoard.getPieceIndex(capturedCoordinate);
+			pawnMove = this.bitBoard.getPieceType(from) == PieceType.PAWN;
+			final PieceType movedType = flag == EncodedMove.PROMOTION ? EncodedMove.getPromotionType(move)
+					: this.bitBoard.getPieceType(from);
+			this.bitBoard.removePiece(capturedCoordinate);
+			this.bitBoard.removePiece(from);
+			this.bitBoard.setPiece(to, league, movedType);
+		}
+		this.capturedStack[this.ply] = captured;
+		this.halfmoveClock = pawnMove || captured != BitBoard.EMPTY ? 0 : this.halfmoveClock + 1;
+
+		this.unmovedPieces &= ~(BitBoard.tileBit(from) | BitBoard.tileBit(to));
+		this.enPassantPawn = flag == EncodedMove.PAWN_JUMP ? to : NO_TILE;
+		this.currentLeague = opponentOf(league);
+		this.ply++;
+		this.keyHistory[this.rootIndex + this.ply] = this.zobristKey;
+	}
+
+	/**
+	 * Takes back the last move played with {@link #makeMove(int)}.
+	 */
+	public void unmakeMove() {
+		this.ply--;
+		final League league = opponentOf(this.currentLeague);
+		final int move = this.moveStack[this.ply];
+		final int from = EncodedMove.getCurrentCoordinate(move);
+		final int to = EncodedMove.getDestinationCoordinate(move);
+		final int flag = EncodedMove.getFlag(move);
+
+		this.enPassantPawn = this.enPassantStack[this.ply];
+		this.unmovedPieces = this.unmovedStack[this.ply];
+		this.castledLeagues = this.castledStack[this.ply];
+		this.zobristKey = this.zobristStack[this.ply];
+		this.halfmoveClock = this.halfmoveStack[this.ply];
+		this.repetitionFilter[filterIndex(this.zobristKey)]--;
+
+		if (EncodedMove.isCastlingMove(move)) {
+			final boolean kingSide = flag == EncodedMove.KING_SIDE_CASTLE;
+			this.bitBoard.removePiece(this.castlingRules.getKingDestination(league, kingSide));
+			this.bitBoard.removePiece(this.castlingRules.getRookDestination(league, kingSide));
+			this.bitBoard.setPiece(from, league, PieceType.KING);
+			this.bitBoard.setPiece(to, league, PieceType.ROOK);
+		} else {
+			final PieceType movedType = flag == EncodedMove.PROMOTION ? PieceType.PAWN : this.bitBoard.getPieceType(to);
+			this.bitBoard.removePiece(to);
+			this.bitBoard.setPiece(from, league, movedType);
+			final int captured = this.capturedStack[this.ply];
+			if (captured != BitBoard.EMPTY) {
+				this.bitBoard.setPiece(flag == EncodedMove.EN_PASSANT ? this.enPassantPawn : to,
+						BitBoard.leagueOf(captured), BitBoard.pieceTypeOf(captured));
+			}
+		}
+		this.currentLeague = league;
+	}
+
+	/**
+	 * Analyses the checks and pins against the king of a league, keeping the
+	 * result in the board for the move generation that follows.
+	 *
+	 * @param league league of the king.
+	 */
+	private void analyseKingSafety(final League league) {
+		this.kingPosition = this.bitBoard.getKingPosition(league);
+		this.checkers = KingSafety.calculateCheckers(this.bitBoard, league, this.kingPosition);
+		this.checkMask = KingSafety.calculateCheckMask(this.kingPosition, this.checkers);
+		this.pinned = KingSafety.calculatePinned(this.bitBoard, league, this.kingPosition);
+		this.attackedTiles = KingSafety.calculateAttackedTiles(this.bitBoard, league, this.kingPosition);
+	}
+
+	/**
+	 * Returns the empty move list of a league for the current ply, creating it
+	 * the first time the ply is reached.
+	 */
+	private MoveList moveListAt(final League league) {
+		MoveList moves = this.moveLists[league.ordinal()][this.ply];
+		if (moves == null) {
+			moves = new MoveList();
+			this.moveLists[league.ordinal()][this.ply] = moves;
+		}
+		moves.clear();
+		return moves;
+	}
+
+	private long calculateLegalDestinations(final int piecePosition) {
+		return KingSafety.calculateLegalDestinations(piecePosition, this.kingPosition, this.checkMask, this.pinned,
+				this.attackedTiles);
+	}
+
+	private static void addMoves(final MoveList moves, final int from, final long destinations) {
+		long candidates = destinations;
+		while (candidates != 0L) {
+			moves.add(EncodedMove.encode(from, Long.numberOfTrailingZeros(candidates), EncodedMove.NORMAL_MOVE));
+			candidates &= candidates - 1;
+		}
+	}
+
+	private static void addPawnMoves(final MoveList moves, final League league, final int from, final int to) {
+		if (!league.isPawnPromotionSquare(to)) {
+			moves.add(EncodedMove.encode(from, to, EncodedMove.NORMAL_MOVE));
+			return;
+		}
+		for (final PieceType promotionType : PROMOTION_TYPES) {
+			moves.add(EncodedMove.encode(from, to, EncodedMove.PROMOTION, promotionType));
+		}
+	}
+
+	private static boolean isPawnStartTile(final League league, final int tileCoordinate) {
+		return (AttackTables.getPawnStartTiles(league) & BitBoard.tileBit(tileCoordinate)) != 0L;
+	}
+
+	private static int filterIndex(final long zobristKey) {
+		return (int) zobristKey & (REPETITION_FILTER_SIZE - 1);
+	}
+
+	private static League opponentOf(final League league) {
+		return league.isWhite() ? League.BLACK : League.WHITE;
+	}
+}
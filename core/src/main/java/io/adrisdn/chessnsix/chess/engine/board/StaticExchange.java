@@ -0,0 +1,160 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
+
+/**
+ * Static exchange evaluation: the material won or lost by a capture once every
+ * piece attacking the destination tile has had the chance to recapture. Both
+ * leagues capture with their least valuable attacker first and can stop the
+ * exchange whenever going on would lose material. Sliding pieces lined up
+ * behind an attacker join the exchange as soon as the piece in front of them
+ * has captured, so batteries of rooks, bishops and queens are counted.
+ *
+ * Pins are not taken into account, and a king only recaptures when the tile is
+ * no longer attacked.
+ *
+ * The material after every capture is kept in a buffer handed in by the
+ * caller, so the search evaluates exchanges without allocating.
+ */
+public final class StaticExchange {
+
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+	/**
+	 * Length of the buffer needed by {@link #evaluate(BitBoard, int, int[])}: no
+	 * exchange has more captures than there are pieces on the board.
+	 */
+	public static final int MAX_CAPTURES = 32;
+
+	private StaticExchange() {
+		throw new RuntimeException("Not instantiatable");
+	}
+
+	/**
+	 * Evaluates the exchange started by an encoded move. A promotion counts the
+	 * value gained by the pawn, and a move that does not capture evaluates the
+	 * risk of putting the piece on its destination.
+	 *
+	 * @param bitBoard bitboard of the position before the move.
+	 * @param move     encoded move.
+	 * @param gains    buffer of at least {@link #MAX_CAPTURES} elements, whose
+	 *                 contents are overwritten.
+	 * @return the material won by the league that moves, negative if it loses
+	 *         material.
+	 */
+	public static int evaluate(final BitBoard bitBoard, final int move, final int[] gains) {
+		if (EncodedMove.isCastlingMove(move)) {
+			return 0;
+		}
+		final int from = EncodedMove.getCurrentCoordinate(move);
+		final int to = EncodedMove.getDestinationCoordinate(move);
+		final League league = bitBoard.getLeague(from);
+		long occupancy = bitBoard.getOccupancy() & ~BitBoard.tileBit(from);
+		int gain;
+		if (EncodedMove.getFlag(move) == EncodedMove.EN_PASSANT) {
+			gain = PieceType.PAWN.getPieceValue();
+			occupancy &= ~BitBoard.tileBit(to - 8 * league.getDirection());
+		} else {
+			final PieceType attackedType = bitBoard.getPieceType(to);
+			gain = attackedType == null ? 0 : attackedType.getPieceValue();
+		}
+		int pieceOnTile = bitBoard.getPieceType(from).getPieceValue();
+		if (EncodedMove.getFlag(move) == EncodedMove.PROMOTION) {
+			pieceOnTile = EncodedMove.getPromotionType(move).getPieceValue();
+			gain += pieceOnTile - PieceType.PAWN.getPieceValue();
+		}
+		return exchange(bitBoard, to, opponentOf(league), occupancy, gain, pieceOnTile, gains);
+	}
+
+	/**
+	 * Returns true if the piece on a tile can be won by the opponent: capturing it
+	 * with the least valuable attacker gains material after every recapture.
+	 *
+	 * @param bitBoard       bitboard of the position.
+	 * @param tileCoordinate coordinate of the piece.
+	 * @return true if the piece is hanging, false otherwise or if the tile is
+	 *         empty.
+	 */
+	public static boolean isHanging(final BitBoard bitBoard, final int tileCoordinate) {
+		final League league = bitBoard.getLeague(tileCoordinate);
+		if (league == null) {
+			return false;
+		}
+		final League opponent = opponentOf(league);
+		final long attackers = bitBoard.attackersOf(tileCoordinate, opponent, bitBoard.getOccupancy());
+		final long attacker = leastValuableAttacker(bitBoard, attackers, opponent);
+		if (attacker == 0L) {
+			return false;
+		}
+		final int move = EncodedMove.encode(Long.numberOfTrailingZeros(attacker), tileCoordinate,
+				EncodedMove.NORMAL_MOVE);
+		return evaluate(bitBoard, move, new int[MAX_CAPTURES]) > 0;
+	}
+
+	/**
+	 * Plays the exchange on a tile out, starting with the league that answers the
+	 * first capture.
+	 *
+	 * @param bitBoard    bitboard of the position.
+	 * @param to          tile where the exchange takes place.
+	 * @param side        league that captures next.
+	 * @param occupancy   occupied tiles once the first capture is made.
+	 * @param gain        material won by the first capture.
+	 * @param pieceOnTile value of the piece standing on the tile.
+	 * @param gains       buffer for the material after every capture.
+	 * @return the material won by the league that made the first capture.
+	 */
+	private static int exchange(final BitBoard bitBoard, final int to, final League side, final long occupancy,
+			final int gain, final int pieceOnTile, final int[] gains) {
+		final long queens = bitBoard.getPieces(League.WHITE, PieceType.QUEEN)
+				| bitBoard.getPieces(League.BLACK, PieceType.QUEEN);
+		final long bishops = bitBoard.getPieces(League.WHITE, PieceType.BISHOP)
+				| bitBoard.getPieces(League.BLACK, PieceType.BISHOP) | queens;
+		final long rooks = bitBoard.getPieces(League.WHITE, PieceType.ROOK)
+				| bitBoard.getPieces(League.BLACK, PieceType.ROOK) | queens;
+		gains[0] = gain;
+		int depth = 0;
+		int capturedValue = pieceOnTile;
+		long remaining = occupancy;
+		long attackers = (bitBoard.attackersOf(to, League.WHITE, remaining)
+				| bitBoard.attackersOf(to, League.BLACK, remaining)) & remaining;
+		League capturer = side;
+		while (depth < MAX_CAPTURES - 1) {
+			final long attacker = leastValuableAttacker(bitBoard, attackers, capturer);
+			if (attacker == 0L) {
+				break;
+			}
+			final PieceType attackerType = bitBoard.getPieceType(Long.numberOfTrailingZeros(attacker));
+			if (attackerType == PieceType.KING
+					&& (attackers & ~attacker & bitBoard.getPieces(opponentOf(capturer))) != 0L) {
+				break;
+			}
+			depth++;
+			gains[depth] = capturedValue - gains[depth - 1];
+			remaining &= ~attacker;
+			attackers = (attackers | MagicBitBoards.getBishopAttacks(to, remaining) & bishops
+					| MagicBitBoards.getRookAttacks(to, remaining) & rooks) & remaining;
+			capturedValue = attackerType.getPieceValue();
+			capturer = opponentOf(capturer);
+		}
+		while (depth > 0) {
+			gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+			depth--;
+		}
+		return gains[0];
+	}
+
+	private static long leastValuableAttacker(final BitBoard bitBoard, final long attackers, final League league) {
+		for (final PieceType pieceType : PIECE_TYPES) {
+			final long candidates = attackers & bitBoard.getPieces(league, pieceType);
+			if (candidates != 0L) {
+				return candidates & -candidates;
+			}
+		}
+		return 0L;
+	}
+
+	private static League opponentOf(final League league) {
+		return league.isWhite() ? League.BLACK : League.WHITE;
+	}
+}
@@ -7,18 +7,34 @@ import io.adrisdn.chessnsix.chess.engine.pieces.Piece;
  */
 public abstract class Tile {
 
+	private static final EmptyTile[] EMPTY_TILES = createAllPossibleEmptyTiles();
+
 	protected final int tileCoordinate;
 
 	/**
-	 * Returns an OccupiedTile if a piece is present; otherwise, returns an
-	 * EmptyTile.
+	 * Returns an OccupiedTile if a piece is present; otherwise, returns the shared
+	 * EmptyTile of the coordinate.
 	 *
 	 * @param tileCoordinate coordinate of the tile to create
 	 * @param piece          piece that might be in that tile
 	 * @return the created tile
 	 */
 	public static Tile createTile(final int tileCoordinate, final Piece piece) {
-		return piece != null ? new OccupiedTile(tileCoordinate, piece) : new EmptyTile(tileCoordinate);
+		return piece != null ? new OccupiedTile(tileCoordinate, piece) : EMPTY_TILES[tileCoordinate];
+	}
+
+	/**
+	 * Creates the empty tile of every coordinate. Empty tiles only differ in their
+	 * coordinate, so the same instances are returned by every board.
+	 *
+	 * @return an array with the empty tiles, indexed by coordinate
+	 */
+	private static EmptyTile[] createAllPossibleEmptyTiles() {
+		final EmptyTile[] emptyTiles = new EmptyTile[BoardUtils.NUM_TILES];
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			emptyTiles[i] = new EmptyTile(i);
+		}
+		return emptyTiles;
 	}
 
 	/**
@@ -0,0 +1,192 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
+
+/**
+ * Zobrist keys of chess positions. A position key is the XOR of one random
+ * 64-bit number for every piece on every tile, one for black to move, one for
+ * every castling right and one for the file of a pawn that can be captured en
+ * passant. Castling rights are kept per rook file, so every Chess960 starting
+ * position gets its own keys: a league holds a right for each unmoved rook on
+ * its back row while its king is unmoved on the same row.
+ *
+ * The key of a new position is computed once with
+ * {@link #calculateKey(BitBoard, League, long, int)}, and the key after a move
+ * is obtained by XORing {@link #calculateMoveKey(BitBoard, League, long, int, int)}
+ * into the key before it.
+ */
+public final class Zobrist {
+
+	private static final long SEED = 0x9E3779B97F4A7C15L;
+	private static final long WHITE_CASTLING_ROW = 0xFFL << 56;
+	private static final long BLACK_CASTLING_ROW = 0xFFL;
+
+	private static final long[][] PIECE_KEYS = new long[League.values().length
+			* PieceType.values().length][BoardUtils.NUM_TILES];
+	private static final long[][] CASTLING_KEYS = new long[League.values().length][BoardUtils.NUM_TILES_PER_ROW];
+	private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+	private static final long BLACK_TO_MOVE_KEY;
+
+	static {
+		long state = SEED;
+		for (final long[] keys : PIECE_KEYS) {
+			for (int i = 0; i < keys.length; i++) {
+				state += SEED;
+				keys[i] = mix(state);
+			}
+		}
+		for (final long[] keys : CASTLING_KEYS) {
+			for (int i = 0; i < keys.length; i++) {
+				state += SEED;
+				keys[i] = mix(state);
+			}
+		}
+		for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+			state += SEED;
+			EN_PASSANT_KEYS[i] = mix(state);
+		}
+		state += SEED;
+		BLACK_TO_MOVE_KEY = mix(state);
+	}
+
+	private Zobrist() {
+		throw new RuntimeException("Not instantiatable");
+	}
+
+	/**
+	 * Calculates the key of a position from scratch.
+	 *
+	 * @param bitBoard      placement of the pieces.
+	 * @param sideToMove    league that moves next.
+	 * @param unmovedPieces bitboard of the pieces that have not moved yet.
+	 * @param enPassantPawn coordinate of the pawn that has just jumped, or -1.
+	 * @return the key of the position.
+	 */
+	public static long calculateKey(final BitBoard bitBoard, final League sideToMove, final long unmovedPieces,
+			final int enPassantPawn) {
+		long key = sideToMove.isBlack() ? BLACK_TO_MOVE_KEY : 0L;
+		long occupancy = bitBoard.getOccupancy();
+		while (occupancy != 0L) {
+			final int tileCoordinate = Long.numberOfTrailingZeros(occupancy);
+			key ^= PIECE_KEYS[bitBoard.getPieceIndex(tileCoordinate)][tileCoordinate];
+			occupancy &= occupancy - 1;
+		}
+		return key ^ castlingKey(bitBoard, unmovedPieces) ^ enPassantKey(bitBoard, sideToMove, enPassantPawn);
+	}
+
+	/**
+	 * Calculates the value to XOR into the key of a position to obtain the key
+	 * after a legal move. Every argument describes the position before the move.
+	 *
+	 * @param bitBoard      placement of the pieces.
+	 * @param sideToMove    league that makes the move.
+	 * @param unmovedPieces bitboard of the pieces that have not moved yet.
+	 * @param enPassantPawn coordinate of the pawn that has just jumped, or -1.
+	 * @param move          encoded move.
+	 * @return the difference between the keys before and after the move.
+	 */
+	public static long calculateMoveKey(final BitBoard bitBoard, final League sideToMove, final long unmovedPieces,
+			final int enPassantPawn, final int move) {
+		final int from = EncodedMove.getCurrentCoordinate(move);
+		final int to = EncodedMove.getDestinationCoordinate(move);
+		final int flag = EncodedMove.getFlag(move);
+		long key = BLACK_TO_MOVE_KEY ^ enPassantKey(bitBoard, sideToMove, enPassantPawn);
+		if (EncodedMove.isCastlingMove(move)) {
+			final int backRow = sideToMove.isWhite() ? 56 : 0;
+			final boolean kingSide = flag == EncodedMove.KING_SIDE_CASTLE;
+			key ^= pieceKey(sideToMove, PieceType.KING, from)
+					^ pieceKey(sideToMove, PieceType.KING, backRow + (kingSide ? 6 : 2))
+					^ pieceKey(sideToMove, PieceType.ROOK, to)
+					^ pieceKey(sideToMove, PieceType.ROOK, backRow + (kingSide ? 5 : 3));
+		} else {
+			final int capturedCoordinate = flag == EncodedMove.EN_PASSANT ? enPassantPawn : to;
+			final int capturedIndex = bitBoard.getPieceIndex(capturedCoordinate);
+			if (capturedIndex != BitBoard.EMPTY) {
+				key ^= PIECE_KEYS[capturedIndex][capturedCoordinate];
+			}
+			final int movedIndex = bitBoard.getPieceIndex(from);
+			key ^= PIECE_KEYS[movedIndex][from];
+			key ^= flag == EncodedMove.PROMOTION ? pieceKey(sideToMove, EncodedMove.getPromotionType(move), to)
+					: PIECE_KEYS[movedIndex][to];
+			if (flag == EncodedMove.PAWN_JUMP) {
+				key ^= enPassantKey(bitBoard, sideToMove.isWhite() ? League.BLACK : League.WHITE, to);
+			}
+		}
+		final long touched = BitBoard.tileBit(from) | BitBoard.tileBit(to);
+		if ((unmovedPieces & touched) != 0L) {
+			key ^= castlingKey(bitBoard, unmovedPieces) ^ castlingKey(bitBoard, unmovedPieces & ~touched);
+		}
+		return key;
+	}
+
+	/**
+	 * Returns the key of a piece standing on a tile.
+	 *
+	 * @param league         color of the piece.
+	 * @param pieceType      type of the piece.
+	 * @param tileCoordinate coordinate of the tile.
+	 * @return the key of the piece.
+	 */
+	public static long pieceKey(final League league, final PieceType pieceType, final int tileCoordinate) {
+		return PIECE_KEYS[BitBoard.pieceIndex(league, pieceType)][tileCoordinate];
+	}
+
+	/**
+	 * Returns the XOR of the keys of every castling right held in a position.
+	 *
+	 * @param bitBoard      placement of the pieces.
+	 * @param unmovedPieces bitboard of the pieces that have not moved yet.
+	 * @return the key of the castling rights.
+	 */
+	static long castlingKey(final BitBoard bitBoard, final long unmovedPieces) {
+		long key = 0L;
+		for (final League league : League.values()) {
+			final long castlingRow = league.isWhite() ? WHITE_CASTLING_ROW : BLACK_CASTLING_ROW;
+			if ((bitBoard.getPieces(league, PieceType.KING) & unmovedPieces & castlingRow) == 0L) {
+				continue;
+			}
+			long rooks = bitBoard.getPieces(league, PieceType.ROOK) & unmovedPieces & castlingRow;
+			while (rooks != 0L) {
+				key ^= CASTLING_KEYS[league.ordinal()][Long.numberOfTrailingZeros(rooks) & 7];
+				rooks &= rooks - 1;
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * Returns the key of the en passant file, which only counts when a pawn of
+	 * the side to move stands next to the pawn that has just jumped.
+	 *
+	 * @param bitBoard      placement of the pieces.
+	 * @param sideToMove    league that moves next.
+	 * @param enPassantPawn coordinate of the pawn that has just jumped, or -1.
+	 * @return the key of the en passant file, or 0.
+	 */
+	static long enPassantKey(final BitBoard bitBoard, final League sideToMove, final int enPassantPawn) {
+		if (enPassantPawn < 0) {
+			return 0L;
+		}
+		final int file = enPassantPawn & 7;
+		long neighbours = 0L;
+		if (file > 0) {
+			neighbours |= BitBoard.tileBit(enPassantPawn - 1);
+		}
+		if (file < 7) {
+			neighbours |= BitBoard.tileBit(enPassantPawn + 1);
+		}
+		return (bitBoard.getPieces(sideToMove, PieceType.PAWN) & neighbours) != 0L ? EN_PASSANT_KEYS[file] : 0L;
+	}
+
+	/**
+	 * SplitMix64 finalizer, used to spread a counter into well distributed random
+	 * keys that are the same on every run.
+	 */
+	private static long mix(final long value) {
+		long z = value;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
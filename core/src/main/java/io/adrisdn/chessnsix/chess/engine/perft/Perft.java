@@ -0,0 +1,232 @@
+package io.adrisdn.chessnsix.chess.engine.perft;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.adrisdn.chessnsix.chess.engine.FEN.FenUtilities;
+import io.adrisdn.chessnsix.chess.engine.board.Board;
+import io.adrisdn.chessnsix.chess.engine.board.BoardUtils;
+import io.adrisdn.chessnsix.chess.engine.board.EncodedMove;
+import io.adrisdn.chessnsix.chess.engine.board.Move;
+import io.adrisdn.chessnsix.chess.engine.board.MoveTransition;
+
+/**
+ * Counts the leaf nodes of the legal move tree of a position up to a given
+ * depth (perft), using {@link Board} and
+ * {@link io.adrisdn.chessnsix.chess.engine.player.Player#makeMove(Move)}. The
+ * counts can be compared with published values to verify the move generation,
+ * and the nodes searched per second measure its speed.
+ *
+ * The last ply is bulk counted: the size of the legal move list is added
+ * without playing the moves. The subtrees of the root moves are counted in
+ * parallel on a fork-join pool.
+ */
+public final class Perft {
+
+	private static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	private Perft() {
+		throw new RuntimeException("Not instantiatable");
+	}
+
+	/**
+	 * Result of a perft run.
+	 */
+	public static final class Result {
+
+		private final ImmutableMap<String, Long> divide;
+		private final long nodes;
+		private final long nanos;
+
+		private Result(final ImmutableMap<String, Long> divide, final long nodes, final long nanos) {
+			this.divide = divide;
+			this.nodes = nodes;
+			this.nanos = nanos;
+		}
+
+		/**
+		 * Returns the number of leaf nodes under every root move, in the order
+		 * the moves were generated.
+		 *
+		 * @return a map from the notation of each root move to its node count.
+		 */
+		public ImmutableMap<String, Long> getDivide() {
+			return this.divide;
+		}
+
+		/**
+		 * Returns the total number of leaf nodes.
+		 *
+		 * @return the number of leaf nodes.
+		 */
+		public long getNodes() {
+			return this.nodes;
+		}
+
+		/**
+		 * Returns the time taken by the run.
+		 *
+		 * @return the elapsed time in nanoseconds.
+		 */
+		public long getNanos() {
+			return this.nanos;
+		}
+
+		/**
+		 * Returns the throughput of the run.
+		 *
+		 * @return the number of leaf nodes counted per second.
+		 */
+		public long getNodesPerSecond() {
+			return this.nanos == 0 ? 0 : this.nodes * 1_000_000_000L / this.nanos;
+		}
+	}
+
+	/**
+	 * Counts the leaf nodes of a position on the calling thread.
+	 *
+	 * @param board position to count.
+	 * @param depth number of plies to look ahead.
+	 * @return the number of leaf nodes.
+	 */
+	public static long perft(final Board board, final int depth) {
+		if (depth == 0) {
+			return 1;
+		}
+		if (depth == 1) {
+			return board.currentPlayer().getLegalMoves().size();
+		}
+		long nodes = 0;
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			final MoveTransition transition = board.currentPlayer().makeMove(move);
+			if (transition.getMoveStatus().isDone()) {
+				nodes += perft(transition.getLatestBoard(), depth - 1);
+			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * Counts the leaf nodes of a position and divides them by root move, with
+	 * the root moves counted in parallel on the common fork-join pool.
+	 *
+	 * @param board position to count.
+	 * @param depth number of plies to look ahead, at least 1.
+	 * @return the result of the run.
+	 */
+	public static Result divide(final Board board, final int depth) {
+		return divide(board, depth, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Counts the leaf nodes of a position and divides them by root move, with
+	 * the root moves counted in parallel on a given pool.
+	 *
+	 * @param board position to count.
+	 * @param depth number of plies to look ahead, at least 1.
+	 * @param pool  pool that runs the root moves.
+	 * @return the result of the run.
+	 */
+	public static Result divide(final Board board, final int depth, final ForkJoinPool pool) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("Perft depth must be at least 1, but it is " + depth);
+		}
+		final long start = System.nanoTime();
+		final List<RootTask> tasks = new ArrayList<>();
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			tasks.add(new RootTask(board, move, depth - 1));
+		}
+		pool.invoke(new RecursiveTask<Void>() {
+			@Override
+			protected Void compute() {
+				invokeAll(tasks);
+				return null;
+			}
+		});
+		final ImmutableMap.Builder<String, Long> divide = ImmutableMap.builder();
+		long nodes = 0;
+		for (final RootTask task : tasks) {
+			final long taskNodes = task.join();
+			if (task.legal) {
+				divide.put(notationOf(task.move), taskNodes);
+				nodes += taskNodes;
+			}
+		}
+		return new Result(divide.build(), nodes, System.nanoTime() - start);
+	}
+
+	/**
+	 * Returns the coordinate notation of a move, like e2e4 or e7e8q. Castling
+	 * moves are written O-O and O-O-O, since in Chess960 the king may reach its
+	 * castling tile with an ordinary move as well.
+	 *
+	 * @param move move to write.
+	 * @return the notation of the move.
+	 */
+	public static String notationOf(final Move move) {
+		if (move.isCastlingMove()) {
+			return move.toString();
+		}
+		final String notation = BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate())
+				+ BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate());
+		return move.isPromotionMove()
+				? notation + EncodedMove.getPromotionType(move.getEncodedMove()).toString().toLowerCase()
+				: notation;
+	}
+
+	/**
+	 * Counts the subtree of one root move.
+	 */
+	private static final class RootTask extends RecursiveTask<Long> {
+
+		private final Board board;
+		private final Move move;
+		private final int depth;
+		private boolean legal;
+
+		private RootTask(final Board board, final Move move, final int depth) {
+			this.board = board;
+			this.move = move;
+			this.depth = depth;
+		}
+
+		@Override
+		protected Long compute() {
+			final MoveTransition transition = this.board.currentPlayer().makeMove(this.move);
+			this.legal = transition.getMoveStatus().isDone();
+			return this.legal ? perft(transition.getLatestBoard(), this.depth) : 0L;
+		}
+	}
+
+	/**
+	 * Runs perft from the command line and prints the divide, the total node
+	 * count and the nodes per second.
+	 *
+	 * @param args the depth, optionally followed by a FEN string; the starting
+	 *             position is used when no FEN is given.
+	 */
+	public static void main(final String[] args) {
+		if (args.length == 0) {
+			System.out.println("Usage: Perft <depth> [fen]");
+			return;
+		}
+		final int depth = Integer.parseInt(args[0]);
+		final String fen = args.length > 1 ? String.join(" ", Arrays.copyOfRange(args, 1, args.length)) : START_FEN;
+		final Board board = FenUtilities.createGameFromFEN(fen, BoardUtils.DEFAULT_TIMER_MINUTE,
+				BoardUtils.DEFAULT_TIMER_SECOND, BoardUtils.DEFAULT_TIMER_MILLISECOND);
+		final Result result = divide(board, depth);
+		for (final Map.Entry<String, Long> entry : result.getDivide().entrySet()) {
+			System.out.println(entry.getKey() + ": " + entry.getValue());
+		}
+		System.out.println();
+		System.out.println("Nodes: " + result.getNodes());
+		System.out.println("Time: " + result.getNanos() / 1_000_000 + " ms");
+		System.out.println("Nodes/second: " + result.getNodesPerSecond());
+	}
+}
@@ -1,23 +1,17 @@
 package io.adrisdn.chessnsix.chess.engine.pieces;
 
-import com.google.common.collect.ImmutableList;
 import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.board.AttackTables;
 import io.adrisdn.chessnsix.chess.engine.board.Board;
-import io.adrisdn.chessnsix.chess.engine.board.BoardUtils;
+import io.adrisdn.chessnsix.chess.engine.board.CastlingRules;
+import io.adrisdn.chessnsix.chess.engine.board.EncodedMove;
 import io.adrisdn.chessnsix.chess.engine.board.Move;
-import io.adrisdn.chessnsix.chess.engine.board.Move.MajorAttackMove;
-import io.adrisdn.chessnsix.chess.engine.board.Move.MajorMove;
-import io.adrisdn.chessnsix.chess.engine.board.Tile;
-
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Represents a king in a chess game
  */
 public final class King extends Piece {
 
-	private static final int[] MOVE_VECTOR_COORDINATE = { -9, -8, -7, -1, 1, 7, 8, 9 };
 	private final boolean isCastled;
 	private final boolean kingSideCastleCapable;
 	private final boolean queenSideCastleCapable;
@@ -58,30 +52,6 @@ public final class King extends Piece {
 		this.isCastled = false;
 	}
 
-	/**
-	 * Prevents illegal left-side moves at column 1.
-	 *
-	 * @param currentPosition current position of the piece.
-	 * @param candidateOFFSET candidate destination for the piece.
-	 * @return true to exclude the column, false if otherwise.
-	 */
-	private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOFFSET) {
-		return BoardUtils.FIRST_COLUMN.get(currentPosition)
-				&& (candidateOFFSET == -9 || candidateOFFSET == 7 || candidateOFFSET == -1);
-	}
-
-	/**
-	 * Prevents illegal right-side moves at column 8.
-	 *
-	 * @param currentPosition current position of the piece.
-	 * @param candidateOFFSET candidate destination for the piece.
-	 * @return true to exclude the column, false if otherwise.
-	 */
-	private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOFFSET) {
-		return BoardUtils.EIGHTH_COLUMN.get(currentPosition)
-				&& (candidateOFFSET == 9 || candidateOFFSET == -7 || candidateOFFSET == 1);
-	}
-
 	/**
 	 * Returns true if the king has castled.
 	 *
@@ -92,47 +62,28 @@ public final class King extends Piece {
 	}
 
 	@Override
-	public ImmutableList<Move> calculateLegalMoves(final Board board) {
-		final List<Move> legalMoves = new ArrayList<>();
-		for (final int currentCandidateOFFSET : MOVE_VECTOR_COORDINATE) {
-
-			final int candidateDestinationCoordinate = super.getPiecePosition() + currentCandidateOFFSET;
-
-			if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-
-				final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-				if (isFirstColumnExclusion(super.getPiecePosition(), currentCandidateOFFSET) ||
-						isEighthColumnExclusion(super.getPiecePosition(), currentCandidateOFFSET)) {
-					continue;
-				}
-
-				if (!candidateDestinationTile.isTileOccupied()
-						&& this.isLegalMove(board, candidateDestinationCoordinate)) {
-					legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-
-				} else if (candidateDestinationTile.isTileOccupied()) {
-					final Piece pieceDestination = candidateDestinationTile.getPiece();
-					final League league = pieceDestination.getLeague();
-
-					if (this.getLeague() != league && this.isLegalMove(board, candidateDestinationCoordinate)) {
-						legalMoves.add(
-								new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceDestination));
-					}
-				}
-			}
+	public int calculateLegalMoves(final Board board, final int[] moves, final int offset) {
+		int count = this.calculateMajorMoves(board, AttackTables.getKingAttacks(super.getPiecePosition()), moves,
+				offset);
+		if (this.isCastled || !this.isFirstMove() || board.getKingSafety(super.getLeague()).isInCheck()) {
+			return count;
+		}
+		final CastlingRules castlingRules = board.getCastlingRules();
+		if (castlingRules.isCastlingAllowed(board.getBitBoard(), super.getLeague(), true, board.getUnmovedPieces())) {
+			moves[offset + count++] = EncodedMove.encode(super.getPiecePosition(),
+					castlingRules.getRookStart(super.getLeague(), true), EncodedMove.KING_SIDE_CASTLE);
 		}
-		if (!this.isCastled && board.currentPlayer() != null) {
-			legalMoves.addAll(
-					board.currentPlayer().calculateKingCastles(board.currentPlayer().getOpponent().getLegalMoves()));
+		if (castlingRules.isCastlingAllowed(board.getBitBoard(), super.getLeague(), false, board.getUnmovedPieces())) {
+			moves[offset + count++] = EncodedMove.encode(super.getPiecePosition(),
+					castlingRules.getRookStart(super.getLeague(), false), EncodedMove.QUEEN_SIDE_CASTLE);
 		}
-		return ImmutableList.copyOf(legalMoves);
+		return count;
 	}
 
 	@Override
 	public King movedPiece(final Move move) {
-		return new King(move.getMovedPiece().getLeague(), move.getDestinationCoordinate(), false, move.isCastlingMove(),
-				false, false);
+		return PieceUtils.getKing(move.getMovedPiece().getLeague(), move.getDestinationCoordinate(), false,
+				move.isCastlingMove(), false, false);
 	}
 
 	@Override
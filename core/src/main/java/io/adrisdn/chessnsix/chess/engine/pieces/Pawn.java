@@ -2,24 +2,20 @@ package io.adrisdn.chessnsix.chess.engine.pieces;
 
 import com.google.common.collect.ImmutableList;
 import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.board.AttackTables;
+import io.adrisdn.chessnsix.chess.engine.board.BitBoard;
 import io.adrisdn.chessnsix.chess.engine.board.Board;
 import io.adrisdn.chessnsix.chess.engine.board.BoardUtils;
+import io.adrisdn.chessnsix.chess.engine.board.EncodedMove;
 import io.adrisdn.chessnsix.chess.engine.board.Move;
-import io.adrisdn.chessnsix.chess.engine.board.Move.PawnAttackMove;
-import io.adrisdn.chessnsix.chess.engine.board.Move.PawnEnPassantAttackMove;
-import io.adrisdn.chessnsix.chess.engine.board.Move.PawnJump;
-import io.adrisdn.chessnsix.chess.engine.board.Move.PawnMove;
-import io.adrisdn.chessnsix.chess.engine.board.Move.PawnPromotion;
-
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Represents a pawn in a chess game
  */
 public final class Pawn extends Piece {
 
-	private static final int[] MOVE_VECTOR_COORDINATE = { 8, 16, 7, 9 };
+	private static final PieceType[] PROMOTION_TYPES = { PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP,
+			PieceType.KNIGHT };
 
 	/**
 	 * Initializes a pawn with a given color and position.
@@ -32,143 +28,86 @@ public final class Pawn extends Piece {
 	}
 
 	@Override
-	public ImmutableList<Move> calculateLegalMoves(final Board board) {
-		final List<Move> legalMoves = new ArrayList<>();
-
-		for (final int currentCandidateOFFSET : MOVE_VECTOR_COORDINATE) {
-
-			int candidateDestinationCoordinate = super.getPiecePosition()
-					+ (currentCandidateOFFSET * this.getLeague().getDirection());
-
-			if (!BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-				continue;
-			}
-			if (currentCandidateOFFSET == 8 && !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-
-				if (super.getLeague().isPawnPromotionSquare(candidateDestinationCoordinate)
-						&& this.isLegalMove(board, candidateDestinationCoordinate)) {
-
-					final PawnMove pawnMove = new PawnMove(board, this, candidateDestinationCoordinate);
-
-					legalMoves.add(new PawnPromotion(pawnMove,
-							new Queen(super.getLeague(), candidateDestinationCoordinate, false)));
-					legalMoves.add(new PawnPromotion(pawnMove,
-							new Rook(super.getLeague(), candidateDestinationCoordinate, false)));
-					legalMoves.add(new PawnPromotion(pawnMove,
-							new Bishop(super.getLeague(), candidateDestinationCoordinate, false)));
-					legalMoves.add(new PawnPromotion(pawnMove,
-							new Knight(super.getLeague(), candidateDestinationCoordinate, false)));
-
-				} else if (!super.getLeague().isPawnPromotionSquare(candidateDestinationCoordinate)
-						&& this.isLegalMove(board, candidateDestinationCoordinate)) {
-					legalMoves.add(new PawnMove(board, this, candidateDestinationCoordinate));
-				}
-
-			} else if (currentCandidateOFFSET == 16 && this.isFirstMove() &&
-					((BoardUtils.SECOND_ROW.get(super.getPiecePosition()) && this.getLeague().isBlack()) ||
-							(BoardUtils.SEVENTH_ROW.get(super.getPiecePosition()) && this.getLeague().isWhite()))) {
-
-				final int behindCandidateDestinationCoordinate = super.getPiecePosition()
-						+ (this.getLeague().getDirection() * 8);
-				if (!board.getTile(behindCandidateDestinationCoordinate).isTileOccupied() &&
-						!board.getTile(candidateDestinationCoordinate).isTileOccupied() &&
-						this.isLegalMove(board, candidateDestinationCoordinate)) {
-					legalMoves.add(new PawnJump(board, this, candidateDestinationCoordinate));
+	public int calculateLegalMoves(final Board board, final int[] moves, final int offset) {
+		int count = 0;
+		final long legalDestinations = this.calculateLegalDestinations(board);
+		final int direction = super.getLeague().getDirection();
+
+		final int candidateDestinationCoordinate = super.getPiecePosition() + 8 * direction;
+		if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)
+				&& !board.getBitBoard().isTileOccupied(candidateDestinationCoordinate)) {
+
+			if ((legalDestinations & BitBoard.tileBit(candidateDestinationCoordinate)) != 0) {
+				if (super.getLeague().isPawnPromotionSquare(candidateDestinationCoordinate)) {
+					count += this.addPromotions(moves, offset + count, candidateDestinationCoordinate);
+				} else {
+					moves[offset + count++] = EncodedMove.encode(super.getPiecePosition(),
+							candidateDestinationCoordinate, EncodedMove.NORMAL_MOVE);
 				}
-			} else if (currentCandidateOFFSET == 7 &&
-					!((BoardUtils.EIGHTH_COLUMN.get(super.getPiecePosition()) && super.getLeague().isWhite()) ||
-							(BoardUtils.FIRST_COLUMN.get(super.getPiecePosition()) && super.getLeague().isBlack()))) {
-				if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-					final Piece pieceDestination = board.getTile(candidateDestinationCoordinate).getPiece();
-
-					if (super.getLeague() != pieceDestination.getLeague()
-							&& this.isLegalMove(board, candidateDestinationCoordinate)) {
-
-						if (super.getLeague().isPawnPromotionSquare(candidateDestinationCoordinate)) {
-
-							final PawnAttackMove pawnAttackMove = new PawnAttackMove(board, this,
-									candidateDestinationCoordinate, pieceDestination);
-
-							legalMoves.add(new PawnPromotion(pawnAttackMove,
-									new Queen(super.getLeague(), candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(pawnAttackMove,
-									new Rook(super.getLeague(), candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(pawnAttackMove,
-									new Bishop(super.getLeague(), candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(pawnAttackMove,
-									new Knight(super.getLeague(), candidateDestinationCoordinate, false)));
-
-						} else {
-							legalMoves.add(
-									new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceDestination));
-						}
-
-					}
-				} else if (board.getEnPassantPawn() != null) {
+			}
 
-					if (board.getEnPassantPawn().getPiecePosition() == (super.getPiecePosition()
-							+ (super.getLeague().getOppositeDirection()))) {
-						final Piece pieceDestination = board.getEnPassantPawn();
+			final int jumpDestinationCoordinate = candidateDestinationCoordinate + 8 * direction;
+			if (this.isFirstMove()
+					&& (AttackTables.getPawnStartTiles(super.getLeague())
+							& BitBoard.tileBit(super.getPiecePosition())) != 0L
+					&& !board.getBitBoard().isTileOccupied(jumpDestinationCoordinate)
+					&& (legalDestinations & BitBoard.tileBit(jumpDestinationCoordinate)) != 0) {
+				moves[offset + count++] = EncodedMove.encode(super.getPiecePosition(), jumpDestinationCoordinate,
+						EncodedMove.PAWN_JUMP);
+			}
+		}
 
-						if (super.getLeague() != pieceDestination.getLeague()
-								&& this.isLegalMove(board, candidateDestinationCoordinate)) {
-							legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate,
-									pieceDestination));
-						}
+		long attacks = AttackTables.getPawnAttacks(super.getLeague(), super.getPiecePosition());
+		while (attacks != 0) {
+			final int attackDestinationCoordinate = Long.numberOfTrailingZeros(attacks);
+			attacks &= attacks - 1;
+			final League attackedLeague = board.getBitBoard().getLeague(attackDestinationCoordinate);
+
+			if (attackedLeague != null) {
+				if (super.getLeague() != attackedLeague
+						&& (legalDestinations & BitBoard.tileBit(attackDestinationCoordinate)) != 0) {
+					if (super.getLeague().isPawnPromotionSquare(attackDestinationCoordinate)) {
+						count += this.addPromotions(moves, offset + count, attackDestinationCoordinate);
+					} else {
+						moves[offset + count++] = EncodedMove.encode(super.getPiecePosition(),
+								attackDestinationCoordinate, EncodedMove.NORMAL_MOVE);
 					}
 				}
-
-			} else if (currentCandidateOFFSET == 9 &&
-					!((BoardUtils.FIRST_COLUMN.get(super.getPiecePosition()) && super.getLeague().isWhite()) ||
-							(BoardUtils.EIGHTH_COLUMN.get(super.getPiecePosition()) && super.getLeague().isBlack()))) {
-				if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-
-					final Piece pieceDestination = board.getTile(candidateDestinationCoordinate).getPiece();
-
-					if (super.getLeague() != pieceDestination.getLeague()
-							&& this.isLegalMove(board, candidateDestinationCoordinate)) {
-
-						if (super.getLeague().isPawnPromotionSquare(candidateDestinationCoordinate)) {
-
-							final PawnAttackMove pawnAttackMove = new PawnAttackMove(board, this,
-									candidateDestinationCoordinate, pieceDestination);
-
-							legalMoves.add(new PawnPromotion(pawnAttackMove,
-									new Queen(super.getLeague(), candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(pawnAttackMove,
-									new Rook(super.getLeague(), candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(pawnAttackMove,
-									new Bishop(super.getLeague(), candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(pawnAttackMove,
-									new Knight(super.getLeague(), candidateDestinationCoordinate, false)));
-
-						} else {
-							legalMoves.add(
-									new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceDestination));
-						}
-					}
-				} else if (board.getEnPassantPawn() != null) {
-
-					if (board.getEnPassantPawn().getPiecePosition() == (super.getPiecePosition()
-							- (super.getLeague().getOppositeDirection()))) {
-						final Piece pieceDestination = board.getEnPassantPawn();
-
-						if (super.getLeague() != pieceDestination.getLeague()
-								&& this.isLegalMove(board, candidateDestinationCoordinate)) {
-							legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate,
-									pieceDestination));
-						}
-					}
+			} else if (board.getEnPassantPawn() != null) {
+				final Pawn enPassantPawn = board.getEnPassantPawn();
+				if (enPassantPawn.getPiecePosition() == attackDestinationCoordinate - 8 * direction
+						&& super.getLeague() != enPassantPawn.getLeague()
+						&& board.getKingSafety(super.getLeague()).isLegalEnPassant(super.getPiecePosition(),
+								attackDestinationCoordinate, enPassantPawn.getPiecePosition())) {
+					moves[offset + count++] = EncodedMove.encode(super.getPiecePosition(),
+							attackDestinationCoordinate, EncodedMove.EN_PASSANT);
 				}
-
 			}
 		}
-		return ImmutableList.copyOf(legalMoves);
+		return count;
+	}
+
+	/**
+	 * Writes the four promotions of a pawn move, to a queen, a rook, a bishop and
+	 * a knight.
+	 *
+	 * @param moves                 buffer where the encoded moves are written.
+	 * @param offset                index of the buffer where the first promotion
+	 *                              is written.
+	 * @param destinationCoordinate coordinate where the promotion happens.
+	 * @return the number of moves written.
+	 */
+	private int addPromotions(final int[] moves, final int offset, final int destinationCoordinate) {
+		for (int i = 0; i < PROMOTION_TYPES.length; i++) {
+			moves[offset + i] = EncodedMove.encode(super.getPiecePosition(), destinationCoordinate,
+					EncodedMove.PROMOTION, PROMOTION_TYPES[i]);
+		}
+		return PROMOTION_TYPES.length;
 	}
 
 	@Override
 	public Pawn movedPiece(final Move move) {
-		return new Pawn(move.getMovedPiece().getLeague(), move.getDestinationCoordinate());
+		return PieceUtils.getPawn(move.getMovedPiece().getLeague(), move.getDestinationCoordinate());
 	}
 
 	@Override
@@ -182,9 +121,9 @@ public final class Pawn extends Piece {
 	 * @return a list of pieces the pawn can promote to
 	 */
 	public ImmutableList<Piece> getPromotionPieces(final int destinationCoordinate) {
-		return ImmutableList.of(new Queen(super.getLeague(), destinationCoordinate, false),
-				new Rook(super.getLeague(), destinationCoordinate, false),
-				new Bishop(super.getLeague(), destinationCoordinate, false),
-				new Knight(super.getLeague(), destinationCoordinate, false));
+		return ImmutableList.of(PieceUtils.getQueen(super.getLeague(), destinationCoordinate, false),
+				PieceUtils.getRook(super.getLeague(), destinationCoordinate, false),
+				PieceUtils.getBishop(super.getLeague(), destinationCoordinate, false),
+				PieceUtils.getKnight(super.getLeague(), destinationCoordinate, false));
 	}
 }
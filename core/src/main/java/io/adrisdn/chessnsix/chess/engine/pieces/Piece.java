@@ -2,16 +2,25 @@ package io.adrisdn.chessnsix.chess.engine.pieces;
 
 import com.google.common.collect.ImmutableList;
 import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.board.BitBoard;
 import io.adrisdn.chessnsix.chess.engine.board.Board;
+import io.adrisdn.chessnsix.chess.engine.board.EncodedMove;
 import io.adrisdn.chessnsix.chess.engine.board.Move;
-import io.adrisdn.chessnsix.chess.engine.board.Move.MajorMove;
-import io.adrisdn.chessnsix.chess.engine.board.MoveTransition;
+import io.adrisdn.chessnsix.chess.engine.board.Move.MoveFactory;
 
 /**
  * Represents a piece in a chess board
  */
 public abstract class Piece {
 
+	/**
+	 * Safe upper bound of the legal moves of a single piece, used to size the
+	 * buffers that hold the moves of one piece. It must cover the 27 moves of a
+	 * queen in the middle of an empty board and the 12 of a pawn that can promote
+	 * on three tiles, as well as a king with both castlings.
+	 */
+	public static final int MAX_PIECE_MOVES = 32;
+
 	private final PieceType pieceType;
 	private final int piecePosition;
 	private final League league;
@@ -86,10 +95,54 @@ public abstract class Piece {
 	 * @param board board where the piece is
 	 * @return a list with the legal moves of the piece.
 	 */
-	public abstract ImmutableList<Move> calculateLegalMoves(final Board board);
+	public final ImmutableList<Move> calculateLegalMoves(final Board board) {
+		final int[] encodedMoves = new int[MAX_PIECE_MOVES];
+		final int count = this.calculateLegalMoves(board, encodedMoves, 0);
+		final ImmutableList.Builder<Move> legalMoves = ImmutableList.builder();
+		for (int i = 0; i < count; i++) {
+			legalMoves.add(MoveFactory.decodeMove(board, encodedMoves[i]));
+		}
+		return legalMoves.build();
+	}
+
+	/**
+	 * Determines valid moves for the piece based on the board state, writing them
+	 * as encoded moves into a buffer supplied by the caller so that no collection
+	 * is allocated.
+	 *
+	 * @param board  board where the piece is.
+	 * @param moves  buffer where the encoded moves are written.
+	 * @param offset index of the buffer where the first move is written.
+	 * @return the number of moves written.
+	 */
+	public abstract int calculateLegalMoves(final Board board, final int[] moves, final int offset);
+
+	/**
+	 * Writes the moves of the piece to every tile of a bitboard of destinations
+	 * that is not occupied by a piece of its own league.
+	 *
+	 * @param board        board where the piece is.
+	 * @param destinations bitboard of the tiles the piece attacks.
+	 * @param moves        buffer where the encoded moves are written.
+	 * @param offset       index of the buffer where the first move is written.
+	 * @return the number of moves written.
+	 */
+	protected final int calculateMajorMoves(final Board board, final long destinations, final int[] moves,
+			final int offset) {
+		int count = 0;
+		long candidates = destinations & ~board.getBitBoard().getPieces(this.league)
+				& this.calculateLegalDestinations(board);
+		while (candidates != 0) {
+			moves[offset + count++] = EncodedMove.encode(this.piecePosition, Long.numberOfTrailingZeros(candidates),
+					EncodedMove.NORMAL_MOVE);
+			candidates &= candidates - 1;
+		}
+		return count;
+	}
 
 	/**
-	 * Simulates a potential move and checks if it is valid.
+	 * Checks if moving the piece to a tile keeps its king safe, using the checks
+	 * and pins of the board instead of making the move.
 	 *
 	 * @param board                          board where the move happens.
 	 * @param candidateDestinationCoordinate coordiante where the piece tries to
@@ -97,15 +150,17 @@ public abstract class Piece {
 	 * @return true if the piece can move there, false if not.
 	 */
 	protected final boolean isLegalMove(final Board board, final int candidateDestinationCoordinate) {
-		try {
-			// make a move, if the move is safe, return true, else false
-			final MoveTransition moveTransition = board.currentPlayer()
-					.makeMove(new MajorMove(board, this, candidateDestinationCoordinate));
-			return moveTransition.getMoveStatus().isDone();
-		} catch (final RuntimeException e) {
-			// for catching null board at the beginning of the game
-			return true;
-		}
+		return (this.calculateLegalDestinations(board) & BitBoard.tileBit(candidateDestinationCoordinate)) != 0;
+	}
+
+	/**
+	 * Returns the tiles the piece can move to without leaving its king in check.
+	 *
+	 * @param board board where the piece stands.
+	 * @return the bitboard of the allowed destinations.
+	 */
+	protected final long calculateLegalDestinations(final Board board) {
+		return board.getKingSafety(this.league).getLegalDestinations(this.piecePosition);
 	}
 
 	/**
@@ -0,0 +1,124 @@
+package io.adrisdn.chessnsix.chess.engine.pieces;
+
+import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.board.BoardUtils;
+
+/**
+ * Shared instances of every piece. Pieces are immutable and only differ in
+ * their color, position and first move status (and the castling state of a
+ * king), so there are few enough of them to create them all once and hand out
+ * the same instance every time a board needs one, instead of allocating a new
+ * piece for every move.
+ */
+public final class PieceUtils {
+
+	private static final int NUM_LEAGUES = League.values().length;
+	private static final int NUM_KING_STATES = 16;
+
+	private static final Pawn[][] PAWNS = new Pawn[NUM_LEAGUES][BoardUtils.NUM_TILES];
+	private static final Knight[][][] KNIGHTS = new Knight[2][NUM_LEAGUES][BoardUtils.NUM_TILES];
+	private static final Bishop[][][] BISHOPS = new Bishop[2][NUM_LEAGUES][BoardUtils.NUM_TILES];
+	private static final Rook[][][] ROOKS = new Rook[2][NUM_LEAGUES][BoardUtils.NUM_TILES];
+	private static final Queen[][][] QUEENS = new Queen[2][NUM_LEAGUES][BoardUtils.NUM_TILES];
+	private static final King[][][] KINGS = new King[NUM_KING_STATES][NUM_LEAGUES][BoardUtils.NUM_TILES];
+
+	static {
+		for (final League league : League.values()) {
+			final int leagueIndex = league.ordinal();
+			for (int position = 0; position < BoardUtils.NUM_TILES; position++) {
+				PAWNS[leagueIndex][position] = new Pawn(league, position);
+				for (int firstMove = 0; firstMove < 2; firstMove++) {
+					KNIGHTS[firstMove][leagueIndex][position] = new Knight(league, position, firstMove == 1);
+					BISHOPS[firstMove][leagueIndex][position] = new Bishop(league, position, firstMove == 1);
+					ROOKS[firstMove][leagueIndex][position] = new Rook(league, position, firstMove == 1);
+					QUEENS[firstMove][leagueIndex][position] = new Queen(league, position, firstMove == 1);
+				}
+				for (int state = 0; state < NUM_KING_STATES; state++) {
+					KINGS[state][leagueIndex][position] = new King(league, position, (state & 8) != 0,
+							(state & 4) != 0, (state & 2) != 0, (state & 1) != 0);
+				}
+			}
+		}
+	}
+
+	private PieceUtils() {
+		throw new RuntimeException("Not instantiatable");
+	}
+
+	/**
+	 * Returns the pawn of a league on a position.
+	 *
+	 * @param league        color of the piece.
+	 * @param piecePosition position of the piece.
+	 * @return the shared pawn.
+	 */
+	public static Pawn getPawn(final League league, final int piecePosition) {
+		return PAWNS[league.ordinal()][piecePosition];
+	}
+
+	/**
+	 * Returns the knight of a league on a position.
+	 *
+	 * @param league        color of the piece.
+	 * @param piecePosition position of the piece.
+	 * @param isFirstMove   true if it hasn't moved, false if it has.
+	 * @return the shared knight.
+	 */
+	public static Knight getKnight(final League league, final int piecePosition, final boolean isFirstMove) {
+		return KNIGHTS[isFirstMove ? 1 : 0][league.ordinal()][piecePosition];
+	}
+
+	/**
+	 * Returns the bishop of a league on a position.
+	 *
+	 * @param league        color of the piece.
+	 * @param piecePosition position of the piece.
+	 * @param isFirstMove   true if it hasn't moved, false if it has.
+	 * @return the shared bishop.
+	 */
+	public static Bishop getBishop(final League league, final int piecePosition, final boolean isFirstMove) {
+		return BISHOPS[isFirstMove ? 1 : 0][league.ordinal()][piecePosition];
+	}
+
+	/**
+	 * Returns the rook of a league on a position.
+	 *
+	 * @param league        color of the piece.
+	 * @param piecePosition position of the piece.
+	 * @param isFirstMove   true if it hasn't moved, false if it has.
+	 * @return the shared rook.
+	 */
+	public static Rook getRook(final League league, final int piecePosition, final boolean isFirstMove) {
+		return ROOKS[isFirstMove ? 1 : 0][league.ordinal()][piecePosition];
+	}
+
+	/**
+	 * Returns the queen of a league on a position.
+	 *
+	 * @param league        color of the piece.
+	 * @param piecePosition position of the piece.
+	 * @param isFirstMove   true if it hasn't moved, false if it has.
+	 * @return the shared queen.
+	 */
+	public static Queen getQueen(final League league, final int piecePosition, final boolean isFirstMove) {
+		return QUEENS[isFirstMove ? 1 : 0][league.ordinal()][piecePosition];
+	}
+
+	/**
+	 * Returns the king of a league on a position.
+	 *
+	 * @param league                 color of the piece.
+	 * @param piecePosition          position of the piece.
+	 * @param isFirstMove            true if it hasn't moved, false if it has.
+	 * @param isCastled              true if it has castled, false if not.
+	 * @param kingSideCastleCapable  true if it can castle king side, false if not.
+	 * @param queenSideCastleCapable true if it can castle queen side, false if not.
+	 * @return the shared king.
+	 */
+	public static King getKing(final League league, final int piecePosition, final boolean isFirstMove,
+			final boolean isCastled, final boolean kingSideCastleCapable, final boolean queenSideCastleCapable) {
+		final int state = (isFirstMove ? 8 : 0) | (isCastled ? 4 : 0) | (kingSideCastleCapable ? 2 : 0)
+				| (queenSideCastleCapable ? 1 : 0);
+		return KINGS[state][league.ordinal()][piecePosition];
+	}
+}
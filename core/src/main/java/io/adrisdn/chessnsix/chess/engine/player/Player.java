@@ -1,17 +1,20 @@
 package io.adrisdn.chessnsix.chess.engine.player;
 
-import java.util.stream.Collectors;
-
 import com.google.common.collect.ImmutableList;
 
 import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.board.BitBoard;
 import io.adrisdn.chessnsix.chess.engine.board.Board;
+import io.adrisdn.chessnsix.chess.engine.board.BoardUtils;
+import io.adrisdn.chessnsix.chess.engine.board.CastlingRules;
 import io.adrisdn.chessnsix.chess.engine.board.Move;
+import io.adrisdn.chessnsix.chess.engine.board.Move.MoveFactory;
+import io.adrisdn.chessnsix.chess.engine.board.MoveList;
 import io.adrisdn.chessnsix.chess.engine.board.MoveStatus;
 import io.adrisdn.chessnsix.chess.engine.board.MoveTransition;
-import io.adrisdn.chessnsix.chess.engine.board.Tile;
 import io.adrisdn.chessnsix.chess.engine.pieces.King;
 import io.adrisdn.chessnsix.chess.engine.pieces.Piece;
+import io.adrisdn.chessnsix.chess.engine.pieces.Rook;
 
 /**
  * Represents a player in a chess game.
@@ -20,32 +23,26 @@ public abstract class Player {
 
 	private final Board board;
 	private final King playerKing;
-	private final ImmutableList<Move> legalMoves;
-	private final boolean isInCheck;
+	private volatile ImmutableList<Move> legalMoves;
+	private volatile Boolean isInCheck;
 	private int minute, second, millisecond;
 
 	/**
-	 * Initializes a player.
+	 * Initializes a player. Its legal moves and check status are calculated the
+	 * first time they are requested.
 	 *
-	 * @param board              The current board instance.
-	 * @param legalMoves         The list of legal moves for the player.
-	 * @param opponentLegalMoves The list of legal moves for the opponent
-	 * @param minute             The number of minutes remaining on the player's
-	 *                           timer.
-	 * @param second             The number of seconds remaining on the player's
-	 *                           timer.
-	 * @param millisecondThe     The number of milliseconds remaining on the
-	 *                           player's
-	 *                           timer.
+	 * @param board          The current board instance.
+	 * @param minute         The number of minutes remaining on the player's
+	 *                       timer.
+	 * @param second         The number of seconds remaining on the player's
+	 *                       timer.
+	 * @param millisecondThe The number of milliseconds remaining on the
+	 *                       player's
+	 *                       timer.
 	 */
-	public Player(final Board board, final ImmutableList<Move> legalMoves, final ImmutableList<Move> opponentLegalMoves,
-			final int minute, final int second, final int millisecond) {
+	public Player(final Board board, final int minute, final int second, final int millisecond) {
 		this.board = board;
 		this.playerKing = this.establishKing();
-		this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegalMoves)
-				.isEmpty();
-		this.legalMoves = ImmutableList.<Move>builder().addAll(legalMoves)
-				.addAll(calculateKingCastles(opponentLegalMoves)).build();
 		this.minute = minute;
 		this.second = second;
 		this.millisecond = millisecond;
@@ -139,19 +136,80 @@ public abstract class Player {
 	 * @return an immutable list of legal moves for the player.
 	 */
 	public final ImmutableList<Move> getLegalMoves() {
-		return this.legalMoves;
+		ImmutableList<Move> moves = this.legalMoves;
+		if (moves == null) {
+			final int[] encodedMoves = new int[MoveList.MAX_MOVES];
+			final int count = this.calculateLegalMoves(encodedMoves, 0);
+			final ImmutableList.Builder<Move> builder = ImmutableList.builder();
+			for (int i = 0; i < count; i++) {
+				builder.add(MoveFactory.decodeMove(this.board, encodedMoves[i]));
+			}
+			moves = builder.build();
+			this.legalMoves = moves;
+		}
+		return moves;
 	}
 
 	/**
-	 * Calculates all moves that attack a particular tile.
+	 * Returns true if the player has at least one legal move. The generated moves
+	 * already keep the king safe, so the pieces are asked for their moves one by
+	 * one and the search stops at the first piece that has any, without creating
+	 * a move or a board.
 	 *
-	 * @param piecePosition tile to check its attacks.
-	 * @param moves         list of moves
-	 * @return a list of moves that attack the specified tile.
+	 * @return true if the player can move, false otherwise.
 	 */
-	public static ImmutableList<Move> calculateAttacksOnTile(final int piecePosition, final ImmutableList<Move> moves) {
-		return ImmutableList.copyOf(moves.stream().filter(move -> piecePosition == move.getDestinationCoordinate())
-				.collect(Collectors.toList()));
+	public final boolean hasAnyLegalMove() {
+		final ImmutableList<Move> moves = this.legalMoves;
+		if (moves != null) {
+			return !moves.isEmpty();
+		}
+		final int[] encodedMoves = new int[Piece.MAX_PIECE_MOVES];
+		if (this.playerKing.calculateLegalMoves(this.board, encodedMoves, 0) != 0) {
+			return true;
+		}
+		for (final Piece piece : this.getActivePieces()) {
+			if (piece != this.playerKing && piece.calculateLegalMoves(this.board, encodedMoves, 0) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of legal moves of the player, counted from their encoded
+	 * form without creating the moves. Every piece writes its moves at the start
+	 * of the same buffer, which only needs room for the moves of one piece.
+	 *
+	 * @return the number of legal moves.
+	 */
+	public final int countLegalMoves() {
+		final ImmutableList<Move> moves = this.legalMoves;
+		if (moves != null) {
+			return moves.size();
+		}
+		final int[] encodedMoves = new int[Piece.MAX_PIECE_MOVES];
+		int count = 0;
+		for (final Piece piece : this.getActivePieces()) {
+			count += piece.calculateLegalMoves(this.board, encodedMoves, 0);
+		}
+		return count;
+	}
+
+	/**
+	 * Writes the legal moves of the player as encoded moves into a buffer supplied
+	 * by the caller, without allocating any move or collection.
+	 *
+	 * @param moves  buffer where the encoded moves are written, with room for at
+	 *               least {@link MoveList#MAX_MOVES} moves after the offset.
+	 * @param offset index of the buffer where the first move is written.
+	 * @return the number of moves written.
+	 */
+	public final int calculateLegalMoves(final int[] moves, final int offset) {
+		int count = 0;
+		for (final Piece piece : this.getActivePieces()) {
+			count += piece.calculateLegalMoves(this.board, moves, offset + count);
+		}
+		return count;
 	}
 
 	/**
@@ -160,8 +218,21 @@ public abstract class Player {
 	 * @return the player's King piece.
 	 */
 	private King establishKing() {
-		return ((King) this.getActivePieces().stream().filter(piece -> piece.getPieceType().isKing()).findFirst()
-				.orElseThrow(() -> new IllegalStateException("Invalid board")));
+		final int kingPosition = this.board.getBitBoard().getKingPosition(this.getLeague());
+		if (kingPosition == BoardUtils.NUM_TILES) {
+			throw new IllegalStateException("Invalid board");
+		}
+		return (King) this.board.getPiece(kingPosition);
+	}
+
+	/**
+	 * Returns the league of the opponent. Unlike {@link #getOpponent()}, it can be
+	 * used while the board is still creating its players.
+	 *
+	 * @return the league of the opponent.
+	 */
+	protected final League getOpponentLeague() {
+		return this.getLeague().isWhite() ? League.BLACK : League.WHITE;
 	}
 
 	/**
@@ -198,7 +269,12 @@ public abstract class Player {
 	 * @return true if the player is in check, false otherwise.
 	 */
 	public final boolean isInCheck() {
-		return this.isInCheck;
+		Boolean inCheck = this.isInCheck;
+		if (inCheck == null) {
+			inCheck = this.board.isSquareAttacked(this.playerKing.getPiecePosition(), this.getOpponentLeague());
+			this.isInCheck = inCheck;
+		}
+		return inCheck;
 	}
 
 	/**
@@ -207,7 +283,7 @@ public abstract class Player {
 	 * @return true if the player is in checkmate, false otherwise.
 	 */
 	public final boolean isInCheckmate() {
-		return this.isInCheck && this.noEscapeMoves();
+		return this.isInCheck() && this.noEscapeMoves();
 	}
 
 	/**
@@ -216,42 +292,65 @@ public abstract class Player {
 	 * @return true if the player is in stalemate, false otherwise.
 	 */
 	public final boolean isInStalemate() {
-		final ImmutableList<Piece> activePieces = this.getActivePieces();
-		final ImmutableList<Piece> opponentActivePieces = this.getOpponent().getActivePieces();
-		if (activePieces.size() == 1 && opponentActivePieces.size() == 1) {
-			if (activePieces.get(0) instanceof King && opponentActivePieces.get(0) instanceof King) {
-				return true;
-			}
-			throw new IllegalStateException("If there is only 1 active piece left, it must be king, however it is "
-					+ activePieces + " and " + opponentActivePieces);
-		}
-		this.getOpponent().getActivePieces();
-		return !this.isInCheck && this.noEscapeMoves();
+		return !this.isInCheck() && this.noEscapeMoves();
 	}
 
 	/**
 	 * Returns the king-side castling move.
 	 *
-	 * @param opponentLegals the legal moves of the opponent.
-	 * @return the king-side castling move.
+	 * @return the king-side castling move, or null if the player cannot castle
+	 *         king-side.
 	 */
-	protected abstract Move.KingSideCastleMove getKingSideCastleMove(final ImmutableList<Move> opponentLegals);
+	protected final Move.KingSideCastleMove getKingSideCastleMove() {
+		final CastlingRules castlingRules = this.board.getCastlingRules();
+		if (!castlingRules.isCastlingAllowed(this.board.getBitBoard(), this.getLeague(), true,
+				this.board.getUnmovedPieces())) {
+			return null;
+		}
+		final int rookStart = castlingRules.getRookStart(this.getLeague(), true);
+		return new Move.KingSideCastleMove(this.board, this.playerKing,
+				castlingRules.getKingDestination(this.getLeague(), true), (Rook) this.board.getPiece(rookStart),
+				rookStart, castlingRules.getRookDestination(this.getLeague(), true));
+	}
 
 	/**
 	 * Returns the queen-side castling move.
 	 *
-	 * @param opponentLegals the legal moves of the opponent.
-	 * @return the queen-side castling move.
+	 * @return the queen-side castling move, or null if the player cannot castle
+	 *         queen-side.
 	 */
-	protected abstract Move.QueenSideCastleMove getQueenSideCastleMove(final ImmutableList<Move> opponentLegals);
+	protected final Move.QueenSideCastleMove getQueenSideCastleMove() {
+		final CastlingRules castlingRules = this.board.getCastlingRules();
+		if (!castlingRules.isCastlingAllowed(this.board.getBitBoard(), this.getLeague(), false,
+				this.board.getUnmovedPieces())) {
+			return null;
+		}
+		final int rookStart = castlingRules.getRookStart(this.getLeague(), false);
+		return new Move.QueenSideCastleMove(this.board, this.playerKing,
+				castlingRules.getKingDestination(this.getLeague(), false), (Rook) this.board.getPiece(rookStart),
+				rookStart, castlingRules.getRookDestination(this.getLeague(), false));
+	}
 
 	/**
 	 * Returns the castling moves.
 	 *
-	 * @param opponentLegals the legal moves of the opponent.
 	 * @return the castling moves.
 	 */
-	public abstract ImmutableList<Move> calculateKingCastles(final ImmutableList<Move> opponentLegals);
+	public final ImmutableList<Move> calculateKingCastles() {
+		if (this.isCastled() || !this.playerKing.isFirstMove() || this.isInCheck()) {
+			return ImmutableList.of();
+		}
+		final ImmutableList.Builder<Move> castles = ImmutableList.builder();
+		final Move kingSideCastleMove = this.getKingSideCastleMove();
+		if (kingSideCastleMove != null) {
+			castles.add(kingSideCastleMove);
+		}
+		final Move queenSideCastleMove = this.getQueenSideCastleMove();
+		if (queenSideCastleMove != null) {
+			castles.add(queenSideCastleMove);
+		}
+		return castles.build();
+	}
 
 	/**
 	 * Returns true if the player’s king has castled.
@@ -269,8 +368,7 @@ public abstract class Player {
 	 *         otherwise.
 	 */
 	public final boolean isKingSideCastleCapable() {
-		final Tile rookTile = this.board.getTile(this.getLeague().isWhite() ? 63 : 7);
-		return !(!rookTile.isTileOccupied() || this.playerKing.isCastled()) && rookTile.getPiece().isFirstMove();
+		return this.isCastleCapable(true);
 	}
 
 	/**
@@ -280,8 +378,22 @@ public abstract class Player {
 	 *         otherwise.
 	 */
 	public final boolean isQueenSideCastleCapable() {
-		final Tile rookTile = this.board.getTile(this.getLeague().isWhite() ? 56 : 0);
-		return !(!rookTile.isTileOccupied() || this.playerKing.isCastled()) && rookTile.getPiece().isFirstMove();
+		return this.isCastleCapable(false);
+	}
+
+	/**
+	 * Returns true if the king and the castling rook of a side have not moved,
+	 * whether castling is possible right now or not.
+	 *
+	 * @param kingSide true for king-side castling, false for queen-side.
+	 * @return true if the player keeps the right to castle to that side.
+	 */
+	private boolean isCastleCapable(final boolean kingSide) {
+		final int rookStart = this.board.getCastlingRules().getRookStart(this.getLeague(), kingSide);
+		final long unmovedPieces = this.board.getUnmovedPieces();
+		return rookStart != -1 && !this.playerKing.isCastled()
+				&& (unmovedPieces & BitBoard.tileBit(this.playerKing.getPiecePosition())) != 0L
+				&& (unmovedPieces & BitBoard.tileBit(rookStart)) != 0L;
 	}
 
 	/**
@@ -292,7 +404,7 @@ public abstract class Player {
 	 *         position, false otherwise.
 	 */
 	protected final boolean noEscapeMoves() {
-		return this.legalMoves.stream().noneMatch(move -> this.makeMove(move).getMoveStatus().isDone());
+		return !this.hasAnyLegalMove();
 	}
 
 	/**
@@ -306,12 +418,8 @@ public abstract class Player {
 
 		final Board transitionBoard = move.execute();
 		if (transitionBoard != null) {
-			final ImmutableList<Move> currentPlayerLegals = transitionBoard.currentPlayer().getLegalMoves();
-			final ImmutableList<Move> kingAttacks = Player.calculateAttacksOnTile(
-					transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-					currentPlayerLegals);
-
-			if (!kingAttacks.isEmpty()) {
+			if (transitionBoard.isSquareAttacked(
+					transitionBoard.getBitBoard().getKingPosition(this.getLeague()), this.getOpponentLeague())) {
 				return new MoveTransition(board, board, MoveStatus.LEAVES_PLAYER_IN_CHECK);
 			}
 
@@ -1,161 +1,170 @@
 package io.adrisdn.chessnsix.chess.engine.player.artificialInteligence;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
-
-import com.google.common.collect.ComparisonChain;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Ordering;
 
 import io.adrisdn.chessnsix.chess.engine.board.Board;
 import io.adrisdn.chessnsix.chess.engine.board.BoardUtils;
+import io.adrisdn.chessnsix.chess.engine.board.EncodedMove;
 import io.adrisdn.chessnsix.chess.engine.board.Move;
-import io.adrisdn.chessnsix.chess.engine.board.MoveTransition;
+import io.adrisdn.chessnsix.chess.engine.board.MoveList;
+import io.adrisdn.chessnsix.chess.engine.board.SearchBoard;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
 import io.adrisdn.chessnsix.chess.engine.player.Player;
 
 /**
  * Implements the MiniMax algorithm with Alpha-Beta pruning for optimizing
  * decision-making in a chess AI engine. The algorithm evaluates potential moves
  * by recursively exploring the game tree to a specified depth and selecting the
- * best possible move for the current player. It supports multi-threading for
- * parallel evaluation of different moves.
+ * best possible move for the current player.
+ *
+ * It supports multi-threading with a lazy SMP search: the calling thread and a
+ * helper thread for every other available processor search the same root
+ * position, every one on its own board, and share a
+ * {@link TranspositionTable}. Every other helper starts one ply deeper, so the
+ * helpers fill the table with results the calling thread finds when it gets
+ * there, but the move played is always the one found by the calling thread. A
+ * position reached again by a different order of moves, or by another thread,
+ * reuses the result already found for it.
  */
 public final class MiniMax {
 
+	private static final int DEFAULT_TRANSPOSITION_TABLE_SIZE = 16;
+
 	private final StandardBoardEvaluation evaluator;
+	private final TranspositionTable transpositionTable;
 	private final int searchDepth, nThreads;
-	private int quiescenceCount;
-	private static final int MAX_QUIESCENCE = 5000 * 5;
+	private static final int DRAW = 0;
+	private static final int MATE = 100000;
+	private static final int MATE_BOUND = MATE - SearchBoard.MAX_PLY;
+	private static final int DELTA_MARGIN = 200;
+	private static final int INFINITY = Integer.MAX_VALUE;
 	private final AtomicBoolean terminateProcess;
+	private final AtomicBoolean searchFinished;
 	private final AtomicInteger moveCount;
+	private TimeManager timeManager;
 
 	/**
-	 * Defines different strategies for sorting moves before evaluating them.
+	 * Threads that help the calling thread search, shared by every search so
+	 * they are not created again for every move.
 	 */
-	private enum MoveSorter {
-
-		/**
-		 * Sorts moves based on castling priority and the value of the aggressor and
-		 * victim.
-		 */
-		STANDARD_SORT {
-			@Override
-			ImmutableList<Move> sort(final ImmutableList<Move> moves) {
-				return Ordering.from((Comparator<Move>) (move1, move2) -> ComparisonChain.start()
-						.compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-						.compare(BoardUtils.mostValuableVictimLeastValuableAggressor(move2),
-								BoardUtils.mostValuableVictimLeastValuableAggressor(move1))
-						.result()).immutableSortedCopy(moves);
-			}
-		},
-
-		/**
-		 * Sorts moves based on king safety (threats) in addition to castling and
-		 * aggressor/victim values.
-		 */
-		EXPENSIVE_SORT {
-			@Override
-			ImmutableList<Move> sort(final ImmutableList<Move> moves) {
-				return Ordering.from((Comparator<Move>) (move1, move2) -> ComparisonChain.start()
-						.compareTrueFirst(BoardUtils.kingThreat(move1), BoardUtils.kingThreat(move2))
-						.compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-						.compare(BoardUtils.mostValuableVictimLeastValuableAggressor(move2),
-								BoardUtils.mostValuableVictimLeastValuableAggressor(move1))
-						.result()).immutableSortedCopy(moves);
-			}
-		};
+	private static final ExecutorService HELPER_THREADS = Executors.newCachedThreadPool(runnable -> {
+		final Thread thread = new Thread(runnable, "search-helper");
+		thread.setDaemon(true);
+		return thread;
+	});
 
-		/**
-		 * Sorts the possible moves depending on their evaluation
-		 *
-		 * @param moves list of moves to evaluate
-		 * @return ordered list
-		 */
-		abstract ImmutableList<Move> sort(final ImmutableList<Move> moves);
+	/**
+	 * Initializes the MiniMax algorithm, setting up the evaluator, search depth,
+	 * and number of threads based on the system's available processors, with a
+	 * transposition table of its own.
+	 *
+	 * @param searchDepth The maximum depth of the search (how many moves ahead
+	 *                    to evaluate).
+	 */
+	public MiniMax(final int searchDepth) {
+		this(searchDepth, new TranspositionTable(DEFAULT_TRANSPOSITION_TABLE_SIZE));
 	}
 
 	/**
 	 * Initializes the MiniMax algorithm, setting up the evaluator, search depth,
-	 * and number of threads based on the system's available processors.
+	 * and number of threads based on the system's available processors. The
+	 * transposition table can be handed from one search to the next, so the
+	 * positions searched for a move are remembered for the following ones.
 	 *
-	 * @param searchDepth The depth of the search (how many moves ahead to
-	 *                    evaluate).
+	 * @param searchDepth        The maximum depth of the search (how many moves
+	 *                           ahead to evaluate).
+	 * @param transpositionTable The table where the searched positions are
+	 *                           remembered.
 	 */
-	public MiniMax(final int searchDepth) {
+	public MiniMax(final int searchDepth, final TranspositionTable transpositionTable) {
 		this.evaluator = new StandardBoardEvaluation();
+		this.transpositionTable = transpositionTable;
 		this.nThreads = Runtime.getRuntime().availableProcessors();
-		this.searchDepth = this.nThreads > 4 ? searchDepth + 1 : searchDepth;
-		this.quiescenceCount = 0;
+		this.searchDepth = searchDepth;
 		this.moveCount = new AtomicInteger(0);
 		this.terminateProcess = new AtomicBoolean(false);
+		this.searchFinished = new AtomicBoolean(false);
 	}
 
 	/**
 	 * executes the MiniMax algorithm by evaluating all possible moves for the
-	 * current player up to a specified depth.
+	 * current player, one ply deeper at every iteration, until the specified
+	 * depth is reached or the time allocated for the move from the clock of the
+	 * player runs out. The best move of the last finished iteration is kept, and
+	 * searched first by the next one. The helper threads search along until the
+	 * calling thread is done.
 	 *
 	 * @param board board to evaluate
 	 * @return best move calculated by the engine.
 	 */
 	public Move execute(final Board board) {
 		final Player currentPlayer = board.currentPlayer();
-		final AtomicReference<Move> bestMove = new AtomicReference<>(Move.MoveFactory.getNullMove());
 		if (currentPlayer.isTimeOut()) {
 			this.setTerminateProcess(true);
-			return bestMove.get();
+			return Move.MoveFactory.getNullMove();
 		}
-		final AtomicInteger highestSeenValue = new AtomicInteger(Integer.MIN_VALUE);
-		final AtomicInteger lowestSeenValue = new AtomicInteger(Integer.MAX_VALUE);
-		final AtomicInteger currentValue = new AtomicInteger(0);
-
-		final ExecutorService executorService = Executors.newFixedThreadPool(this.nThreads);
-
-		for (final Move move : MoveSorter.EXPENSIVE_SORT.sort((board.currentPlayer().getLegalMoves()))) {
-			final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-			this.quiescenceCount = 0;
+		this.timeManager = new TimeManager(currentPlayer, board.getMoveCount());
+		this.transpositionTable.newSearch();
 
-			if (moveTransition.getMoveStatus().isDone()) {
-				if (moveTransition.getLatestBoard().currentPlayer().isInCheckmate()) {
-					return move;
-				}
-				executorService.execute(() -> {
-					final int currentVal = currentPlayer.getLeague().isWhite()
-							? min(moveTransition.getLatestBoard(), MiniMax.this.searchDepth - 1, highestSeenValue.get(),
-									lowestSeenValue.get())
-							: max(moveTransition.getLatestBoard(), MiniMax.this.searchDepth - 1, highestSeenValue.get(),
-									lowestSeenValue.get());
-
-					currentValue.set(currentVal);
-					if (terminateProcess.get()) {
-						// immediately set move to null after time out for AI
-						bestMove.set(Move.MoveFactory.getNullMove());
-					} else {
-						if (currentPlayer.getLeague().isWhite() && currentValue.get() > highestSeenValue.get()) {
-							highestSeenValue.set(currentValue.get());
-							bestMove.set(move);
-						} else if (currentPlayer.getLeague().isBlack() && currentValue.get() < lowestSeenValue.get()) {
-							lowestSeenValue.set(currentValue.get());
-							bestMove.set(move);
-						}
-						moveCount.set(moveCount.get() + 1);
-					}
-				});
+		final SearchBoard rootBoard = new SearchBoard(board);
+		final MoveList rootMoves = rootBoard.calculateLegalMoves(currentPlayer.getLeague());
+		sortRootMoves(rootBoard, rootMoves);
+		final int[] moves = new int[rootMoves.size()];
+		for (int i = 0; i < moves.length; i++) {
+			moves[i] = rootMoves.get(i);
+		}
+		for (final int move : moves) {
+			rootBoard.makeMove(move);
+			final boolean checkmate = rootBoard.isInCheck(rootBoard.getCurrentLeague())
+					&& !rootBoard.hasAnyLegalMove();
+			rootBoard.unmakeMove();
+			if (checkmate) {
+				return Move.MoveFactory.createMove(board, move);
 			}
-
 		}
 
-		executorService.shutdown();
-		try {
-			executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
-		} catch (final InterruptedException e) {
-			e.printStackTrace();
+		this.searchFinished.set(false);
+		final List<Future<?>> helpers = new ArrayList<>();
+		for (int i = 1; i < this.nThreads; i++) {
+			final SearchThread helper = new SearchThread(board, moves, false);
+			final int startDepth = 1 + i % 2;
+			helpers.add(HELPER_THREADS.submit(() -> helper.iterate(startDepth)));
+		}
+		final SearchThread mainThread = new SearchThread(board, moves, true);
+		int bestMove = EncodedMove.NULL_MOVE;
+		int stableIterations = 0;
+		for (int depth = 1; depth <= this.searchDepth
+				&& (depth == 1 || this.timeManager.canStartIteration(stableIterations)); depth++) {
+			final int iterationBestMove = mainThread.searchRoot(depth);
+			if (this.isStopped()) {
+				break;
+			}
+			stableIterations = iterationBestMove == bestMove ? stableIterations + 1 : 0;
+			bestMove = iterationBestMove;
+		}
+		this.searchFinished.set(true);
+		for (final Future<?> helper : helpers) {
+			try {
+				helper.get();
+			} catch (final InterruptedException | ExecutionException e) {
+				e.printStackTrace();
+			}
+		}
+		if (this.terminateProcess.get()) {
+			// immediately set move to null after time out for AI
+			return Move.MoveFactory.getNullMove();
 		}
-		return bestMove.get();
+		if (bestMove == EncodedMove.NULL_MOVE && moves.length > 0) {
+			bestMove = moves[0];
+		}
+		return Move.MoveFactory.createMove(board, bestMove);
 	}
 
 	/**
@@ -187,95 +196,417 @@ public final class MiniMax {
 	}
 
 	/**
-	 * Maximizing function in the Minimax algorithm, evaluates possible moves for
-	 * the current player and returns the highest evaluation score.
+	 * Returns true if the search must stop, because it was flagged for
+	 * termination, the time of the move is up or the calling thread has already
+	 * chosen its move.
 	 *
-	 * @param board   board to evaluate
-	 * @param depth   number of moves ahead to look
-	 * @param highest best evaluation found
-	 * @param lowest  worst evaluation found
-	 * @return the best evaluation found
+	 * @return true if the search must stop, false otherwise.
 	 */
-	private int max(final Board board, final int depth, final int highest, final int lowest) {
-		if (this.terminateProcess.get()) {
-			return highest;
+	private boolean isStopped() {
+		return this.terminateProcess.get() || this.searchFinished.get() || this.timeManager.isTimeUp();
+	}
+
+	/**
+	 * Evaluates a position from the point of view of the player to move.
+	 *
+	 * @param board board to evaluate
+	 * @param depth number of moves ahead left to look
+	 * @return the evaluation of the position, positive if it favors the player to
+	 *         move
+	 */
+	private int evaluate(final SearchBoard board, final int depth) {
+		final int score = this.evaluator.evaluate(board, depth);
+		return board.getCurrentLeague().isWhite() ? score : -score;
+	}
+
+	/**
+	 * Returns true if an entry of the transposition table settles the value of a
+	 * node without searching it: it was searched at least as deep and its score
+	 * is exact or a bound that falls outside the window.
+	 *
+	 * @param entry entry of the position, or {@link TranspositionTable#NO_ENTRY}
+	 * @param depth number of moves ahead to look
+	 * @param alpha score the player to move is already sure of
+	 * @param beta  score the opponent is already sure of
+	 * @param ply   ply of the node
+	 * @return true if the node can return the score of the entry
+	 */
+	private static boolean isCutoff(final long entry, final int depth, final int alpha, final int beta,
+			final int ply) {
+		if (entry == TranspositionTable.NO_ENTRY || TranspositionTable.getDepth(entry) < depth) {
+			return false;
 		}
-		if (depth == 0 || BoardUtils.isEndGameScenario(board)) {
-			return this.evaluator.evaluate(board, depth);
+		final int score = scoreFromTable(TranspositionTable.getScore(entry), ply);
+		switch (TranspositionTable.getBound(entry)) {
+			case TranspositionTable.LOWER_BOUND:
+				return score >= beta;
+			case TranspositionTable.UPPER_BOUND:
+				return score <= alpha;
+			default:
+				return true;
 		}
-		int currentHighest = highest;
-		for (final Move move : MoveSorter.STANDARD_SORT.sort((board.currentPlayer().getLegalMoves()))) {
-			final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-			if (moveTransition.getMoveStatus().isDone()) {
-				final Board toBoard = moveTransition.getLatestBoard();
-				currentHighest = Math.max(currentHighest, min(toBoard,
-						calculateQuiescenceDepth(toBoard, depth), currentHighest, lowest));
-				if (currentHighest >= lowest) {
-					return lowest;
-				}
-			}
+	}
+
+	/**
+	 * Stores the result of a node in the transposition table, unless the search
+	 * was stopped and the result cannot be trusted. A mate score is stored as
+	 * the distance to the mate from the node, which holds wherever the position
+	 * is reached again.
+	 *
+	 * @param board board of the node
+	 * @param move  best move found
+	 * @param score score of the node
+	 * @param depth number of moves ahead looked
+	 * @param bound kind of score
+	 */
+	private void store(final SearchBoard board, final int move, final int score, final int depth, final int bound) {
+		if (!this.isStopped()) {
+			this.transpositionTable.store(board.getZobristKey(), move, scoreToTable(score, board.getPly()), depth,
+					bound);
 		}
-		return currentHighest;
 	}
 
 	/**
-	 * Minimizing function in the Minimax algorithm, evaluates possible moves for
-	 * the opponent player and returns the lowest evaluation score.
+	 * Converts a score to be stored in the transposition table: a mate score,
+	 * counted from the root, is counted from the node instead.
 	 *
-	 * @param board   board to evaluate
-	 * @param depth   number of moves ahead to look
-	 * @param highest best evaluation found
-	 * @param lowest  worst evaluation found
-	 * @return the worst evaluation found
+	 * @param score score of the node
+	 * @param ply   ply of the node
+	 * @return the score to store
 	 */
-	private int min(final Board board, final int depth, final int highest, final int lowest) {
-		if (this.terminateProcess.get()) {
-			return lowest;
+	static int scoreToTable(final int score, final int ply) {
+		if (score >= MATE_BOUND) {
+			return score + ply;
 		}
-		if (depth == 0 || BoardUtils.isEndGameScenario(board)) {
-			return this.evaluator.evaluate(board, depth);
+		if (score <= -MATE_BOUND) {
+			return score - ply;
 		}
-		int currentLowest = lowest;
-		for (final Move move : MoveSorter.STANDARD_SORT.sort((board.currentPlayer().getLegalMoves()))) {
-			final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-			if (moveTransition.getMoveStatus().isDone()) {
-				final Board toBoard = moveTransition.getLatestBoard();
-				currentLowest = Math.min(currentLowest, max(toBoard,
-						calculateQuiescenceDepth(toBoard, depth), highest, currentLowest));
-				if (currentLowest <= highest) {
-					return highest;
-				}
-			}
+		return score;
+	}
+
+	/**
+	 * Converts a score read from the transposition table back to the search: a
+	 * mate score, counted from the node, is counted from the root again.
+	 *
+	 * @param score stored score
+	 * @param ply   ply of the node
+	 * @return the score of the node
+	 */
+	static int scoreFromTable(final int score, final int ply) {
+		if (score >= MATE_BOUND) {
+			return score - ply;
+		}
+		if (score <= -MATE_BOUND) {
+			return score + ply;
 		}
-		return currentLowest;
+		return score;
 	}
 
 	/**
-	 * Prevents the "horizon effect" by continuing the evaluation of moves in
-	 * positions with high activity (e.g., attacks or checks). If the board has
-	 * significant action (e.g., the king is in check), the depth of search is
-	 * increased temporarily.
+	 * Returns the move picker of a ply, creating it the first time the search
+	 * reaches that ply.
 	 *
-	 * @param toBoard board to valuate
-	 * @param depth   number of moves to look ahead
-	 * @return actual depth of the search
+	 * @param movePickers move pickers of the search, one for every ply
+	 * @param ply         ply of the node
+	 * @return the move picker of the ply
 	 */
-	private int calculateQuiescenceDepth(final Board toBoard, final int depth) {
-		if (depth == 1 && this.quiescenceCount < MAX_QUIESCENCE) {
-			int activityMeasure = 0;
-			if (toBoard.currentPlayer().isInCheck()) {
-				activityMeasure += 1;
+	private static MovePicker movePickerAt(final MovePicker[] movePickers, final int ply) {
+		if (movePickers[ply] == null) {
+			movePickers[ply] = new MovePicker();
+		}
+		return movePickers[ply];
+	}
+
+	/**
+	 * Sorts the root moves in place before the first iteration: moves that
+	 * threaten the opponent king first, then castling, then by most valuable
+	 * victim and least valuable aggressor, keeping the generation order of moves
+	 * with the same key. Later iterations start from the best move of the
+	 * previous one instead.
+	 *
+	 * @param board search board of the root
+	 * @param moves encoded legal moves of the root
+	 */
+	private static void sortRootMoves(final SearchBoard board, final MoveList moves) {
+		for (int i = 0; i < moves.size(); i++) {
+			final int move = moves.get(i);
+			moves.setScore(i, ((BoardUtils.kingThreat(board, move) ? 1L : 0L) << 33)
+					| ((EncodedMove.isCastlingMove(move) ? 1L : 0L) << 32)
+					| BoardUtils.mostValuableVictimLeastValuableAggressor(board, move));
+		}
+		moves.sortByScore();
+	}
+
+	/**
+	 * Moves a move to the front of an array of moves, keeping the order of the
+	 * rest.
+	 *
+	 * @param moves encoded moves
+	 * @param move  move to search first
+	 */
+	private static void moveToFront(final int[] moves, final int move) {
+		for (int i = 0; i < moves.length; i++) {
+			if (moves[i] == move) {
+				System.arraycopy(moves, 0, moves, 1, i);
+				moves[0] = move;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * One of the threads of the search. Every thread walks the game tree on its
+	 * own board with its own move pickers and orders the root moves after its
+	 * own iterations, so nothing but the transposition table is shared.
+	 */
+	private final class SearchThread {
+
+		private final SearchBoard board;
+		private final MovePicker[] movePickers;
+		private final int[] rootMoves;
+		private final boolean mainThread;
+
+		/**
+		 * Initializes a thread of the search.
+		 *
+		 * @param board      board to evaluate
+		 * @param rootMoves  legal moves of the current player, in the order they
+		 *                   are searched first
+		 * @param mainThread true for the calling thread, whose move is played
+		 */
+		SearchThread(final Board board, final int[] rootMoves, final boolean mainThread) {
+			this.board = new SearchBoard(board);
+			this.movePickers = new MovePicker[SearchBoard.MAX_PLY];
+			this.rootMoves = rootMoves.clone();
+			this.mainThread = mainThread;
+		}
+
+		/**
+		 * Searches one ply deeper at every iteration, from a starting depth, until
+		 * the maximum depth is reached or the search is stopped. Used by the
+		 * helper threads, which only leave their results in the transposition
+		 * table.
+		 *
+		 * @param startDepth depth of the first iteration
+		 */
+		void iterate(final int startDepth) {
+			for (int depth = startDepth; depth <= MiniMax.this.searchDepth && !isStopped(); depth++) {
+				this.searchRoot(depth);
+			}
+		}
+
+		/**
+		 * Searches every root move to a depth and returns the best one, which is
+		 * searched first by the next iteration. The first move is searched with the
+		 * whole window and the rest with a null window around the best score so
+		 * far, and again with the whole window if they beat it.
+		 *
+		 * @param depth number of moves ahead to look
+		 * @return the best move found, which can only be trusted if the search was
+		 *         not stopped
+		 */
+		int searchRoot(final int depth) {
+			int alpha = -INFINITY;
+			int bestMove = EncodedMove.NULL_MOVE;
+			for (int i = 0; i < this.rootMoves.length; i++) {
+				final int move = this.rootMoves[i];
+				this.board.makeMove(move);
+				int score;
+				if (i == 0) {
+					score = -this.negamax(depth - 1, -INFINITY, -alpha);
+				} else {
+					score = -this.negamax(depth - 1, -alpha - 1, -alpha);
+					if (score > alpha && !isStopped()) {
+						score = -this.negamax(depth - 1, -INFINITY, -alpha);
+					}
+				}
+				this.board.unmakeMove();
+				if (isStopped()) {
+					return bestMove;
+				}
+				if (score > alpha) {
+					alpha = score;
+					bestMove = move;
+				}
+				if (this.mainThread) {
+					moveCount.incrementAndGet();
+				}
+			}
+			store(this.board, bestMove, alpha, depth, TranspositionTable.EXACT);
+			moveToFront(this.rootMoves, bestMove);
+			return bestMove;
+		}
+
+		/**
+		 * Negamax form of the Minimax algorithm, evaluates the possible moves of
+		 * the player to move and returns the best score from its point of view,
+		 * which is the opposite of the score of the same position for the other
+		 * player. Moves are made and unmade on the board of the thread.
+		 *
+		 * It is a principal variation search: the first move, the most likely to
+		 * be the best one after the move ordering, is searched with the whole
+		 * window, and the rest with a null window that only proves they are not
+		 * better. A move that turns out to be better is searched again with the
+		 * whole window. The score is fail-soft: when no move falls inside the
+		 * window, the best bound found is returned instead of the edge of the
+		 * window, so the transposition table gets bounds as tight as possible.
+		 *
+		 * @param depth number of moves ahead to look
+		 * @param alpha score the player to move is already sure of
+		 * @param beta  score the opponent is already sure of, from the point of
+		 *              view of the player to move
+		 * @return the best score found for the player to move
+		 */
+		private int negamax(final int depth, final int alpha, final int beta) {
+			if (isStopped()) {
+				return alpha;
+			}
+			if (this.board.isRepetition() || this.board.isFiftyMoveRule() || this.board.isInsufficientMaterial()) {
+				return DRAW;
+			}
+			if (depth == 0) {
+				return this.quiescence(alpha, beta);
+			}
+			final int ply = this.board.getPly();
+			if (ply >= SearchBoard.MAX_PLY - 1) {
+				return evaluate(this.board, 0);
+			}
+			final long entry = transpositionTable.probe(this.board.getZobristKey());
+			if (isCutoff(entry, depth, alpha, beta, ply)) {
+				return scoreFromTable(TranspositionTable.getScore(entry), ply);
 			}
-			for (final Move move : BoardUtils.lastNMoves(toBoard, 2)) {
-				if (move.isAttack()) {
-					activityMeasure += 1;
+			final MovePicker movePicker = movePickerAt(this.movePickers, ply);
+			movePicker.reset(this.board, TranspositionTable.getMove(entry));
+			int move = movePicker.next();
+			if (move == EncodedMove.NULL_MOVE) {
+				final int score = this.terminalScore();
+				store(this.board, EncodedMove.NULL_MOVE, score, depth, TranspositionTable.EXACT);
+				return score;
+			}
+			int currentAlpha = alpha;
+			int bestScore = -INFINITY;
+			int bestMove = EncodedMove.NULL_MOVE;
+			for (boolean firstMove = true; move != EncodedMove.NULL_MOVE; move = movePicker.next(), firstMove = false) {
+				this.board.makeMove(move);
+				int score;
+				if (firstMove) {
+					score = -this.negamax(depth - 1, -beta, -currentAlpha);
+				} else {
+					score = -this.negamax(depth - 1, -currentAlpha - 1, -currentAlpha);
+					if (score > currentAlpha && score < beta) {
+						score = -this.negamax(depth - 1, -beta, -currentAlpha);
+					}
+				}
+				this.board.unmakeMove();
+				if (score > bestScore) {
+					bestScore = score;
+					if (score > currentAlpha) {
+						currentAlpha = score;
+						bestMove = move;
+					}
+				}
+				if (currentAlpha >= beta) {
+					movePicker.storeKiller(move);
+					store(this.board, move, bestScore, depth, TranspositionTable.LOWER_BOUND);
+					return bestScore;
 				}
 			}
-			if (activityMeasure >= 2) {
-				this.quiescenceCount += 1;
-				return 2;
+			store(this.board, bestMove, bestScore, depth,
+					bestMove == EncodedMove.NULL_MOVE ? TranspositionTable.UPPER_BOUND : TranspositionTable.EXACT);
+			return bestScore;
+		}
+
+		/**
+		 * Returns the score of a position where the player to move has no legal
+		 * moves: checkmated, it is a loss the further from the root the better,
+		 * so the search prefers the shortest mate and delays being mated, and
+		 * stalemated, it is a draw.
+		 *
+		 * @return the score of the position for the player to move
+		 */
+		private int terminalScore() {
+			return this.board.isInCheck(this.board.getCurrentLeague()) ? -MATE + this.board.getPly() : DRAW;
+		}
+
+		/**
+		 * Quiescence search, which goes on from the leaves of the search until the
+		 * position is quiet, so a leaf is never evaluated in the middle of an
+		 * exchange (the "horizon effect"). The player to move can stand pat,
+		 * keeping the evaluation of the position, or try its winning captures and
+		 * promotions. A capture is pruned when even winning the captured piece and
+		 * a margin on top of the stand pat score leaves it below alpha (delta
+		 * pruning), and the captures that lose material in the exchange are never
+		 * handed out by the move picker. A player in check cannot stand pat and
+		 * searches every evasion, and is checkmated when there is none.
+		 *
+		 * @param alpha score the player to move is already sure of
+		 * @param beta  score the opponent is already sure of, from the point of
+		 *              view of the player to move
+		 * @return the best score found for the player to move
+		 */
+		private int quiescence(final int alpha, final int beta) {
+			if (isStopped()) {
+				return alpha;
+			}
+			if (this.board.isRepetition() || this.board.isFiftyMoveRule() || this.board.isInsufficientMaterial()) {
+				return DRAW;
 			}
+			final int ply = this.board.getPly();
+			if (ply >= SearchBoard.MAX_PLY - 1) {
+				return evaluate(this.board, 0);
+			}
+			final boolean inCheck = this.board.isInCheck(this.board.getCurrentLeague());
+			final MovePicker movePicker = movePickerAt(this.movePickers, ply);
+			final int standPat;
+			if (inCheck) {
+				movePicker.reset(this.board, EncodedMove.NULL_MOVE);
+				standPat = -INFINITY;
+			} else {
+				standPat = evaluate(this.board, 0);
+				if (standPat >= beta) {
+					return standPat;
+				}
+				movePicker.resetCaptures(this.board);
+			}
+			int bestScore = standPat;
+			int currentAlpha = Math.max(alpha, standPat);
+			boolean hasMove = false;
+			for (int move = movePicker.next(); move != EncodedMove.NULL_MOVE; move = movePicker.next()) {
+				hasMove = true;
+				if (!inCheck && standPat + materialGain(this.board, move) + DELTA_MARGIN <= currentAlpha) {
+					continue;
+				}
+				this.board.makeMove(move);
+				final int score = -this.quiescence(-beta, -currentAlpha);
+				this.board.unmakeMove();
+				if (score > bestScore) {
+					bestScore = score;
+					if (score > currentAlpha) {
+						currentAlpha = score;
+						if (currentAlpha >= beta) {
+							return bestScore;
+						}
+					}
+				}
+			}
+			return inCheck && !hasMove ? this.terminalScore() : bestScore;
+		}
+	}
+
+	/**
+	 * Returns the material a capture or promotion wins at most: the value of the
+	 * captured piece, plus the value the pawn gains when it promotes.
+	 *
+	 * @param board board of the node
+	 * @param move  encoded capture or promotion
+	 * @return the material won if the piece is not recaptured
+	 */
+	private static int materialGain(final SearchBoard board, final int move) {
+		final PieceType attackedType = board.getAttackedPieceType(move);
+		int gain = attackedType == null ? 0 : attackedType.getPieceValue();
+		if (EncodedMove.getFlag(move) == EncodedMove.PROMOTION) {
+			gain += EncodedMove.getPromotionType(move).getPieceValue() - PieceType.PAWN.getPieceValue();
 		}
-		return depth - 1;
+		return gain;
 	}
 }
@@ -0,0 +1,225 @@
+package io.adrisdn.chessnsix.chess.engine.player.artificialInteligence;
+
+import io.adrisdn.chessnsix.chess.engine.board.BoardUtils;
+import io.adrisdn.chessnsix.chess.engine.board.EncodedMove;
+import io.adrisdn.chessnsix.chess.engine.board.MoveList;
+import io.adrisdn.chessnsix.chess.engine.board.SearchBoard;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
+
+/**
+ * Hands out the legal moves of a node one at a time, in stages: the hash move,
+ * the winning captures and promotions ordered by most valuable victim and least
+ * valuable aggressor, the killer moves, the quiet moves and at last the losing
+ * captures. A stage is only generated when the previous one is used up, so a
+ * node cut off by a capture never generates nor sorts its quiet moves.
+ *
+ * The search keeps one picker for every ply and resets it at every node of that
+ * ply. The killer moves, quiet moves that cut off a sibling node, are kept
+ * between resets. The quiescence search resets it to hand out the winning
+ * captures and promotions alone.
+ */
+final class MovePicker {
+
+	private static final int HASH_MOVE = 0;
+	private static final int GENERATE_CAPTURES = 1;
+	private static final int WINNING_CAPTURES = 2;
+	private static final int FIRST_KILLER = 3;
+	private static final int SECOND_KILLER = 4;
+	private static final int GENERATE_QUIETS = 5;
+	private static final int QUIET_MOVES = 6;
+	private static final int LOSING_CAPTURES = 7;
+	private static final int DONE = 8;
+
+	private final MoveList generatedCaptures;
+	private final MoveList captures;
+	private final MoveList losingCaptures;
+	private final MoveList quiets;
+	private final int[] killers;
+
+	private SearchBoard board;
+	private int hashMove;
+	private boolean capturesOnly;
+	private int stage;
+	private int index;
+
+	/**
+	 * Initializes a picker without killer moves.
+	 */
+	MovePicker() {
+		this.generatedCaptures = new MoveList();
+		this.captures = new MoveList();
+		this.losingCaptures = new MoveList();
+		this.quiets = new MoveList();
+		this.killers = new int[] { EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE };
+		this.stage = DONE;
+	}
+
+	/**
+	 * Prepares the picker for a new node.
+	 *
+	 * @param board    search board of the node, which must be back in the same
+	 *                 position every time {@link #next()} is called.
+	 * @param hashMove best move remembered for the position, or
+	 *                 {@link EncodedMove#NULL_MOVE}.
+	 */
+	void reset(final SearchBoard board, final int hashMove) {
+		this.board = board;
+		this.hashMove = hashMove;
+		this.capturesOnly = false;
+		this.stage = HASH_MOVE;
+		this.index = 0;
+		this.captures.clear();
+		this.losingCaptures.clear();
+		this.quiets.clear();
+	}
+
+	/**
+	 * Prepares the picker for a node of the quiescence search, where only the
+	 * winning captures and promotions are handed out. The losing ones cannot
+	 * raise the score above the evaluation of the position, so they are pruned.
+	 *
+	 * @param board search board of the node, which must be back in the same
+	 *              position every time {@link #next()} is called.
+	 */
+	void resetCaptures(final SearchBoard board) {
+		this.reset(board, EncodedMove.NULL_MOVE);
+		this.capturesOnly = true;
+		this.stage = GENERATE_CAPTURES;
+	}
+
+	/**
+	 * Returns the next move to search.
+	 *
+	 * @return the next encoded legal move, or {@link EncodedMove#NULL_MOVE} when
+	 *         every move has been handed out.
+	 */
+	int next() {
+		while (true) {
+			switch (this.stage) {
+				case HASH_MOVE:
+					this.stage = GENERATE_CAPTURES;
+					if (this.board.isLegalMove(this.hashMove)) {
+						return this.hashMove;
+					}
+					break;
+				case GENERATE_CAPTURES:
+					this.generateCaptures();
+					this.stage = WINNING_CAPTURES;
+					this.index = 0;
+					break;
+				case WINNING_CAPTURES:
+					if (this.index < this.captures.size()) {
+						final int move = this.captures.get(this.index++);
+						if (move != this.hashMove) {
+							return move;
+						}
+					} else {
+						this.stage = this.capturesOnly ? DONE : FIRST_KILLER;
+					}
+					break;
+				case FIRST_KILLER:
+				case SECOND_KILLER:
+					final int killer = this.killers[this.stage - FIRST_KILLER];
+					this.stage++;
+					if (killer != this.hashMove && this.board.getAttackedPieceType(killer) == null
+							&& EncodedMove.getFlag(killer) != EncodedMove.PROMOTION && this.board.isLegalMove(killer)) {
+						return killer;
+					}
+					break;
+				case GENERATE_QUIETS:
+					this.generateQuiets();
+					this.stage = QUIET_MOVES;
+					this.index = 0;
+					break;
+				case QUIET_MOVES:
+					if (this.index < this.quiets.size()) {
+						final int move = this.quiets.get(this.index++);
+						if (move != this.hashMove && !this.isKiller(move)) {
+							return move;
+						}
+					} else {
+						this.stage = LOSING_CAPTURES;
+						this.index = 0;
+					}
+					break;
+				case LOSING_CAPTURES:
+					if (this.index < this.losingCaptures.size()) {
+						final int move = this.losingCaptures.get(this.index++);
+						if (move != this.hashMove) {
+							return move;
+						}
+					} else {
+						this.stage = DONE;
+					}
+					break;
+				default:
+					return EncodedMove.NULL_MOVE;
+			}
+		}
+	}
+
+	/**
+	 * Remembers a move that cut off the node. Only quiet moves are kept, since
+	 * captures are already searched before the killer moves.
+	 *
+	 * @param move encoded move that caused the cutoff.
+	 */
+	void storeKiller(final int move) {
+		if (move == this.killers[0] || EncodedMove.getFlag(move) == EncodedMove.PROMOTION
+				|| this.board.getAttackedPieceType(move) != null) {
+			return;
+		}
+		this.killers[1] = this.killers[0];
+		this.killers[0] = move;
+	}
+
+	private boolean isKiller(final int move) {
+		return move == this.killers[0] || move == this.killers[1];
+	}
+
+	/**
+	 * Generates the captures and promotions, putting aside the losing ones: an
+	 * underpromotion, or a move that loses material in the exchange on its
+	 * destination tile.
+	 */
+	private void generateCaptures() {
+		this.generatedCaptures.clear();
+		this.board.calculateCaptures(this.generatedCaptures);
+		for (int i = 0; i < this.generatedCaptures.size(); i++) {
+			final int move = this.generatedCaptures.get(i);
+			final MoveList moves = this.isWinning(move) ? this.captures : this.losingCaptures;
+			moves.setScore(moves.size(), captureScore(this.board, move));
+			moves.add(move);
+		}
+		this.captures.sortByScore();
+		this.losingCaptures.sortByScore();
+	}
+
+	private boolean isWinning(final int move) {
+		if (EncodedMove.getFlag(move) == EncodedMove.PROMOTION
+				&& EncodedMove.getPromotionType(move) != PieceType.QUEEN) {
+			return false;
+		}
+		return this.board.staticExchangeEvaluation(move) >= 0;
+	}
+
+	/**
+	 * Generates the quiet moves, castling first and then the cheaper pieces.
+	 */
+	private void generateQuiets() {
+		this.board.calculateQuietMoves(this.quiets);
+		for (int i = 0; i < this.quiets.size(); i++) {
+			final int move = this.quiets.get(i);
+			this.quiets.setScore(i, ((EncodedMove.isCastlingMove(move) ? 1L : 0L) << 32)
+					| BoardUtils.mostValuableVictimLeastValuableAggressor(this.board, move));
+		}
+		this.quiets.sortByScore();
+	}
+
+	private static long captureScore(final SearchBoard board, final int move) {
+		final long score = BoardUtils.mostValuableVictimLeastValuableAggressor(board, move);
+		return EncodedMove.getFlag(move) == EncodedMove.PROMOTION
+				? score + EncodedMove.getPromotionType(move).getPieceValue()
+				: score;
+	}
+}
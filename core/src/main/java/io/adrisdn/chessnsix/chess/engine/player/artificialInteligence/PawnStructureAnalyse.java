@@ -91,6 +91,25 @@ public final class PawnStructureAnalyse {
 		return table;
 	}
 
+	/**
+	 * Creates a table that tracks how many pawns are in each of the 8 columns (A to
+	 * H) from a bitboard of pawns.
+	 *
+	 * @param pawns The bitboard of the player's pawns.
+	 * @return An integer array of size 8, where each index corresponds to a column,
+	 *         and the value at each index represents the number of pawns in that
+	 *         column.
+	 */
+	private static int[] createPawnColumnTable(final long pawns) {
+		final int[] table = new int[8];
+		long remainingPawns = pawns;
+		while (remainingPawns != 0) {
+			table[Long.numberOfTrailingZeros(remainingPawns) % 8]++;
+			remainingPawns &= remainingPawns - 1;
+		}
+		return table;
+	}
+
 	/**
 	 * Calculates the total pawn structure score for a player. This score is the sum
 	 * of the penalties for doubled pawns and isolated pawns.
@@ -104,6 +123,18 @@ public final class PawnStructureAnalyse {
 		return calculatePawnColumnStack(pawnsOnColumnTable) + calculateIsolatedPawnPenalty(pawnsOnColumnTable);
 	}
 
+	/**
+	 * Calculates the total pawn structure score of a set of pawns. This score is
+	 * the sum of the penalties for doubled pawns and isolated pawns.
+	 *
+	 * @param pawns The bitboard of the player's pawns.
+	 * @return An integer representing the total pawn structure score.
+	 */
+	public int pawnStructureScore(final long pawns) {
+		final int[] pawnsOnColumnTable = createPawnColumnTable(pawns);
+		return calculatePawnColumnStack(pawnsOnColumnTable) + calculateIsolatedPawnPenalty(pawnsOnColumnTable);
+	}
+
 	/**
 	 * Calculates and returns the penalty score for isolated pawns in the player's
 	 * pawn structur
@@ -1,13 +1,10 @@
 package io.adrisdn.chessnsix.chess.engine.player.artificialInteligence;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.primitives.Ints;
-
+import io.adrisdn.chessnsix.chess.engine.League;
 import io.adrisdn.chessnsix.chess.engine.board.Board;
-import io.adrisdn.chessnsix.chess.engine.board.Move;
-import io.adrisdn.chessnsix.chess.engine.pieces.Piece;
+import io.adrisdn.chessnsix.chess.engine.board.MoveList;
+import io.adrisdn.chessnsix.chess.engine.board.SearchBoard;
 import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
-import io.adrisdn.chessnsix.chess.engine.player.Player;
 
 /**
  * Provides a comprehensive evaluation of a chess game board, considering
@@ -141,36 +138,44 @@ public final class StandardBoardEvaluation {
 	 * including mobility, attack strength, castling status, piece evaluations, and
 	 * pawn structure.
 	 *
-	 * @param player The player whose score is to be evaluated.
-	 * @param depth  The search depth for evaluating checkmate and check situations.
+	 * @param board             The position to evaluate.
+	 * @param league            The league of the player whose score is to be
+	 *                          evaluated.
+	 * @param moveCount         The number of legal moves of the player.
+	 * @param opponentMoveCount The number of legal moves of the opponent.
+	 * @param depth             The search depth for evaluating checkmate and
+	 *                          check situations.
 	 * @return An integer score representing the player's position based on various
 	 *         factors.
 	 */
-	private static int scorePlayer(final Player player, final int depth) {
-		return mobility(player) +
-				checkMate(player, depth) +
-				attacks(player) +
-				castled(player) +
-				pieceEvaluations(player) +
-				pawnStructure(player);
+	private static int scorePlayer(final SearchBoard board, final League league, final int moveCount,
+			final int opponentMoveCount, final int depth) {
+		return mobility(moveCount, opponentMoveCount) +
+				checkMate(board, league, opponentMoveCount, depth) +
+				attacks(board, league) +
+				castled(board, league) +
+				pieceEvaluations(board, league) +
+				pawnStructure(board, league);
 	}
 
 	/**
 	 * Evaluates the number of legal attacks made by the player and adds a score
-	 * based on the value of the attacked pieces.
+	 * based on the value of the attacked pieces. Only the captures of the player
+	 * are generated, since no other move can attack a piece.
 	 *
-	 * @param player The player whose attack score is to be evaluated.
+	 * @param board  The position to evaluate.
+	 * @param league The league of the player.
 	 * @return An integer score representing the player's attack strength.
 	 */
-	private static int attacks(final Player player) {
+	private static int attacks(final SearchBoard board, final League league) {
+		final MoveList legalMoves = board.calculateCaptures(league);
 		int attackScore = 0;
-		for (final Move move : player.getLegalMoves()) {
-			if (move.isAttack()) {
-				final Piece movedPiece = move.getMovedPiece();
-				final Piece attackedPiece = move.getAttackedPiece();
-				if (movedPiece.getPieceValue() <= attackedPiece.getPieceValue()) {
-					attackScore++;
-				}
+		for (int i = 0; i < legalMoves.size(); i++) {
+			final int move = legalMoves.get(i);
+			final PieceType attackedPiece = board.getAttackedPieceType(move);
+			if (attackedPiece != null
+					&& board.getMovedPieceType(move).getPieceValue() <= attackedPiece.getPieceValue()) {
+				attackScore++;
 			}
 		}
 		return attackScore * ATTACK_MULTIPLIER;
@@ -180,31 +185,35 @@ public final class StandardBoardEvaluation {
 	 * Evaluates the value of the player's pieces, considering their type and
 	 * position on the board.
 	 *
-	 * @param player The player whose piece evaluations are to be calculated.
+	 * @param board  The position to evaluate.
+	 * @param league The league of the player.
 	 * @return An integer representing the total evaluation of the player's pieces,
 	 *         including a bonus if the player has two bishops.
 	 */
-	private static int pieceEvaluations(final Player player) {
+	private static int pieceEvaluations(final SearchBoard board, final League league) {
 		int pieceValuationScore = 0;
-		int numBishops = 0;
-		for (final Piece piece : player.getActivePieces()) {
-			pieceValuationScore += piece.getPieceValue() + positionValue(piece).get(piece.getPiecePosition());
-			if (piece.getPieceType() == PieceType.BISHOP) {
-				numBishops++;
+		for (final PieceType pieceType : PieceType.values()) {
+			long pieces = board.getBitBoard().getPieces(league, pieceType);
+			while (pieces != 0) {
+				pieceValuationScore += pieceType.getPieceValue()
+						+ positionValue(pieceType, league, Long.numberOfTrailingZeros(pieces));
+				pieces &= pieces - 1;
 			}
 		}
-		return pieceValuationScore + (numBishops == 2 ? TWO_BISHOPS_BONUS : 0);
+		return pieceValuationScore
+				+ (board.getBitBoard().countPieces(league, PieceType.BISHOP) == 2 ? TWO_BISHOPS_BONUS : 0);
 	}
 
 	/**
 	 * Calculates the player's mobility score based on the number of legal moves
 	 * available.
 	 *
-	 * @param player The player whose mobility is to be evaluated.
+	 * @param moveCount         The number of legal moves of the player.
+	 * @param opponentMoveCount The number of legal moves of the opponent.
 	 * @return An integer score representing the player's mobility.
 	 */
-	private static int mobility(final Player player) {
-		return MOBILITY_MULTIPLIER * mobilityRatio(player);
+	private static int mobility(final int moveCount, final int opponentMoveCount) {
+		return MOBILITY_MULTIPLIER * mobilityRatio(moveCount, opponentMoveCount);
 	}
 
 	/**
@@ -212,37 +221,53 @@ public final class StandardBoardEvaluation {
 	 * which is then multiplied by a mobility multiplier to get the final mobility
 	 * score.
 	 *
-	 * @param player The player whose mobility ratio is to be calculated.
+	 * An opponent without legal moves, checkmated or stalemated, counts as having
+	 * one, so the ratio does not overflow and swamp the checkmate score.
+	 *
+	 * @param moveCount         The number of legal moves of the player.
+	 * @param opponentMoveCount The number of legal moves of the opponent.
 	 * @return An integer representing the ratio of legal moves between the player
 	 *         and the opponent.
 	 */
-	private static int mobilityRatio(final Player player) {
-		return (int) ((player.getLegalMoves().size() * 10.0f) / player.getOpponent().getLegalMoves().size());
+	private static int mobilityRatio(final int moveCount, final int opponentMoveCount) {
+		if (opponentMoveCount == 0) {
+			return moveCount * 10;
+		}
+		return (int) ((moveCount * 10.0f) / opponentMoveCount);
 	}
 
 	/**
 	 * Returns a bonus score if the player has castled.
 	 *
-	 * @param player
-	 * @return
+	 * @param board  The position to evaluate.
+	 * @param league The league of the player.
+	 * @return {@link StandardBoardEvaluation#CASTLE_BONUS} if the player has
+	 *         castled, 0 otherwise.
 	 */
-	private static int castled(final Player player) {
-		return player.isCastled() ? CASTLE_BONUS : 0;
+	private static int castled(final SearchBoard board, final League league) {
+		return board.isCastled(league) ? CASTLE_BONUS : 0;
 	}
 
 	/**
 	 * Checks if the opponent is in checkmate and assigns a corresponding score. The
 	 * score is weighted by the depth of the search.
 	 *
-	 * @param player The player whose opponent's checkmate status is to be
-	 *               evaluated.
-	 * @param depth  The current depth in the search tree, which is used to weigh
-	 *               the checkmate score.
+	 * @param board             The position to evaluate.
+	 * @param league            The league of the player whose opponent's
+	 *                          checkmate status is to be evaluated.
+	 * @param opponentMoveCount The number of legal moves of the opponent.
+	 * @param depth             The current depth in the search tree, which is
+	 *                          used to weigh the checkmate score.
 	 * @return A score based on whether the opponent is in checkmate, with the score
 	 *         being multiplied by the depth bonus.
 	 */
-	private static int checkMate(final Player player, final int depth) {
-		return player.getOpponent().isInCheckmate() ? CHECK_MATE * depthBonus(depth) : check(player);
+	private static int checkMate(final SearchBoard board, final League league, final int opponentMoveCount,
+			final int depth) {
+		final boolean opponentInCheck = board.isInCheck(league.isWhite() ? League.BLACK : League.WHITE);
+		if (opponentInCheck && opponentMoveCount == 0) {
+			return CHECK_MATE * depthBonus(depth);
+		}
+		return check(opponentInCheck);
 	}
 
 	/**
@@ -259,72 +284,59 @@ public final class StandardBoardEvaluation {
 	/**
 	 * Returns a score if the opponent's king is in check.
 	 *
-	 * @param player The player whose opponent's check status is to be evaluated.
+	 * @param opponentInCheck Whether the opponent's king is in check.
 	 * @return A score if the opponent is in check, otherwise 0.
 	 */
-	private static int check(final Player player) {
-		return player.getOpponent().isInCheck() ? CHECK_KING : 0;
+	private static int check(final boolean opponentInCheck) {
+		return opponentInCheck ? CHECK_KING : 0;
 	}
 
 	/**
 	 * Calculates the player's pawn structure score.
 	 *
-	 * @param player The player whose pawn structure is to be evaluated.
+	 * @param board  The position to evaluate.
+	 * @param league The league of the player.
 	 * @return An integer representing the player's pawn structure score.
 	 */
-	private static int pawnStructure(final Player player) {
-		return pawnStructureScore.pawnStructureScore(player);
-	}
-
-	/**
-	 * Returns a list of position-dependent evaluation values for a given piece
-	 * based on its type and position on the board.
-	 *
-	 * @param piece The piece whose position evaluation is to be retrieved.
-	 * @return A list of integers representing the piece's position-dependent
-	 *         evaluation values.
-	 */
-	private static ImmutableList<Integer> positionValue(final Piece piece) {
-		final boolean isWhite = piece.getLeague().isWhite();
-
-		if ("K".equals(piece.toString())) {
-			return getPiecePositionValue(isWhite, kingEvaluation);
-		} else if ("Q".equals(piece.toString())) {
-			return getPiecePositionValue(isWhite, queenEvaluation);
-		} else if ("R".equals(piece.toString())) {
-			return getPiecePositionValue(isWhite, rookEvaluation);
-		} else if ("B".equals(piece.toString())) {
-			return getPiecePositionValue(isWhite, bishopEvaluation);
-		} else if ("N".equals(piece.toString())) {
-			return getPiecePositionValue(isWhite, knightEvaluation);
-		} else {
-			return getPiecePositionValue(isWhite, pawnEvaluation);
-		}
+	private static int pawnStructure(final SearchBoard board, final League league) {
+		return pawnStructureScore.pawnStructureScore(board.getBitBoard().getPieces(league, PieceType.PAWN));
 	}
 
 	/**
-	 * Returns the position-dependent evaluation values for a piece, adjusting for
-	 * whether the piece belongs to a white or black player.
+	 * Returns the position-dependent evaluation of a piece, mirroring the tables
+	 * for the black pieces.
 	 *
-	 * @param isWhite       A boolean indicating whether the piece belongs to the
-	 *                      white player.
-	 * @param positionValue An array of position-dependent evaluation values for the
-	 *                      piece.
-	 * @return A list of evaluation values for the piece, adjusted for its color.
+	 * @param pieceType     The type of the piece.
+	 * @param league        The league of the piece.
+	 * @param piecePosition The coordinate of the piece.
+	 * @return The evaluation of the piece on its tile.
 	 */
-	private static ImmutableList<Integer> getPiecePositionValue(final boolean isWhite, final int[] positionValue) {
-		return isWhite ? ImmutableList.copyOf(Ints.asList(positionValue)) : reversePositionEvaluation(positionValue);
+	private static int positionValue(final PieceType pieceType, final League league, final int piecePosition) {
+		final int[] positionValue = positionTable(pieceType);
+		return league.isWhite() ? positionValue[piecePosition] : positionValue[positionValue.length - 1 - piecePosition];
 	}
 
 	/**
-	 * Reverses the position-dependent evaluation array to account for the player's
-	 * color (i.e., for black pieces).
+	 * Returns the position-dependent evaluation table of a piece type.
 	 *
-	 * @param positionValue An array of position-dependent evaluation values.
-	 * @return A reversed list of position values.
+	 * @param pieceType The type of the piece.
+	 * @return The evaluation table of the piece type, from white's point of view.
 	 */
-	private static ImmutableList<Integer> reversePositionEvaluation(final int[] positionValue) {
-		return ImmutableList.copyOf(Ints.asList(positionValue)).reverse();
+	private static int[] positionTable(final PieceType pieceType) {
+		switch (pieceType) {
+			case KING:
+				return kingEvaluation;
+			case QUEEN:
+				return queenEvaluation;
+			case ROOK:
+				return rookEvaluation;
+			case BISHOP:
+				return bishopEvaluation;
+			case KNIGHT:
+				return knightEvaluation;
+			default:
+				return pawnEvaluation;
+		}
 	}
 
 	/**
@@ -337,6 +349,24 @@ public final class StandardBoardEvaluation {
 	 *         value favoring white and a negative value favoring black.
 	 */
 	public int evaluate(final Board board, final int depth) {
-		return -scorePlayer(board.blackPlayer(), depth) + scorePlayer(board.whitePlayer(), depth);
+		return this.evaluate(new SearchBoard(board), depth);
+	}
+
+	/**
+	 * Evaluates a search position from the perspective of both players (black and
+	 * white) at a given search depth. The legal moves of both players are counted
+	 * once and shared by the mobility and checkmate terms, and a count of zero
+	 * is a checkmate or a stalemate that the mobility ratio must handle.
+	 *
+	 * @param board The position to evaluate.
+	 * @param depth The current depth in the search tree for the evaluation.
+	 * @return An integer representing the evaluation of the position, with a
+	 *         positive value favoring white and a negative value favoring black.
+	 */
+	public int evaluate(final SearchBoard board, final int depth) {
+		final int whiteMoveCount = board.countLegalMoves(League.WHITE);
+		final int blackMoveCount = board.countLegalMoves(League.BLACK);
+		return -scorePlayer(board, League.BLACK, blackMoveCount, whiteMoveCount, depth)
+				+ scorePlayer(board, League.WHITE, whiteMoveCount, blackMoveCount, depth);
 	}
 }
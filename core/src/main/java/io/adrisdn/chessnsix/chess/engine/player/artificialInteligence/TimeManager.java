@@ -0,0 +1,79 @@
+package io.adrisdn.chessnsix.chess.engine.player.artificialInteligence;
+
+import io.adrisdn.chessnsix.chess.engine.player.Player;
+
+/**
+ * Decides how long the search of a move may take from the clock of the player
+ * that moves. The remaining time is shared among the moves still expected in
+ * the game, which are fewer as the game goes on, and gives a soft limit and a
+ * hard limit for the move.
+ *
+ * The search deepens one ply at a time and only starts a new iteration while
+ * it is below the soft limit. Every iteration takes at least as long as all the
+ * previous ones together, so a new one is not started once half the soft limit
+ * has been used, and even earlier when the best move has stayed the same for
+ * the last iterations. An iteration still running at the hard limit is
+ * stopped.
+ *
+ * A player without a timer has no limits, and the search goes on until its
+ * maximum depth.
+ */
+final class TimeManager {
+
+	private static final int MOVES_TO_GO = 50;
+	private static final int MIN_MOVES_TO_GO = 20;
+	private static final int HARD_LIMIT_FACTOR = 3;
+	private static final int MAX_CLOCK_FRACTION = 5;
+	private static final int[] STABILITY_PERCENTAGES = { 100, 80, 65, 50 };
+	private static final long NANOS_PER_MILLISECOND = 1000000L;
+
+	private final long startTime;
+	private final long softLimit;
+	private final long hardLimit;
+	private final boolean unlimited;
+
+	/**
+	 * Allocates the time for the move of a player.
+	 *
+	 * @param player    player that moves.
+	 * @param moveCount number of moves played so far in the game.
+	 */
+	TimeManager(final Player player, final int moveCount) {
+		this.startTime = System.nanoTime();
+		this.unlimited = player.isNoTimer();
+		final long remaining = (player.getMinute() * 60000L + player.getSecond() * 1000L + player.getMillisecond())
+				* NANOS_PER_MILLISECOND;
+		final int movesToGo = Math.max(MIN_MOVES_TO_GO, MOVES_TO_GO - moveCount / 2);
+		this.softLimit = remaining / movesToGo;
+		this.hardLimit = Math.min(this.softLimit * HARD_LIMIT_FACTOR, remaining / MAX_CLOCK_FRACTION);
+	}
+
+	/**
+	 * Returns true if there is time to search one ply deeper.
+	 *
+	 * @param stableIterations number of finished iterations in a row that found
+	 *                         the same best move as the one before them.
+	 * @return true if a new iteration can start, false otherwise.
+	 */
+	boolean canStartIteration(final int stableIterations) {
+		if (this.unlimited) {
+			return true;
+		}
+		final int percentage = STABILITY_PERCENTAGES[Math.min(stableIterations, STABILITY_PERCENTAGES.length - 1)];
+		return this.elapsed() * 2 < this.softLimit * percentage / 100;
+	}
+
+	/**
+	 * Returns true if the search has used all the time of the move and must stop
+	 * at once.
+	 *
+	 * @return true if the hard limit has been reached, false otherwise.
+	 */
+	boolean isTimeUp() {
+		return !this.unlimited && this.elapsed() >= this.hardLimit;
+	}
+
+	private long elapsed() {
+		return System.nanoTime() - this.startTime;
+	}
+}
@@ -0,0 +1,178 @@
+package io.adrisdn.chessnsix.chess.engine.player.artificialInteligence;
+
+import io.adrisdn.chessnsix.chess.engine.board.EncodedMove;
+
+/**
+ * Remembers the result of searched positions, so a position reached again
+ * through a different order of moves is not searched from scratch. Positions
+ * are found by their Zobrist key in a table with a power of two number of
+ * entries, every one holding the best move, the depth, the score and whether
+ * the score is exact or only a bound.
+ *
+ * Every entry is stored in two longs: the data packed in one of them and the
+ * key of the position XOR the data in the other. All the threads of the search
+ * read and write the table without locking, and an entry whose two halves were
+ * written by different threads no longer gives back the key of the position
+ * being probed, so it is ignored as if it belonged to another position.
+ *
+ * The data is packed as follows: the encoded move in bits 0 to 17, the bound
+ * in bits 18 and 19, the depth in bits 20 to 27, the search that stored it in
+ * bits 28 to 30, a bit set in every stored entry in bit 31 and the score in the
+ * upper 32 bits.
+ *
+ * The table does not know about plies, so the search must store mate scores as
+ * the distance to the mate from the position, and turn them back into the
+ * distance from its root when it probes them.
+ */
+public final class TranspositionTable {
+
+	/**
+	 * The score is the exact value of the position.
+	 */
+	static final int EXACT = 0;
+	/**
+	 * The value of the position is at least the score.
+	 */
+	static final int LOWER_BOUND = 1;
+	/**
+	 * The value of the position is at most the score.
+	 */
+	static final int UPPER_BOUND = 2;
+	/**
+	 * Returned when the position is not in the table.
+	 */
+	static final long NO_ENTRY = 0L;
+
+	private static final int LONGS_PER_ENTRY = 2;
+	private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+	private static final int MAX_ENTRIES = 1 << 29;
+	private static final int MOVE_MASK = (1 << 18) - 1;
+	private static final int BOUND_SHIFT = 18;
+	private static final int DEPTH_SHIFT = 20;
+	private static final int MAX_DEPTH = 0xFF;
+	private static final int GENERATION_SHIFT = 28;
+	private static final int GENERATION_MASK = 0x7;
+	private static final long STORED = 1L << 31;
+
+	private final long[] entries;
+	private final int mask;
+	private int generation;
+
+	/**
+	 * Initializes an empty table.
+	 *
+	 * @param sizeInMegabytes memory used by the table, rounded down to a power of
+	 *                        two number of entries.
+	 * @throws IllegalArgumentException if the size is smaller than 1 MB.
+	 */
+	public TranspositionTable(final int sizeInMegabytes) {
+		if (sizeInMegabytes < 1) {
+			throw new IllegalArgumentException("The transposition table needs at least 1 MB");
+		}
+		final long bytesPerEntry = LONGS_PER_ENTRY * Long.BYTES;
+		final int size = (int) Math.min(MAX_ENTRIES,
+				Long.highestOneBit(sizeInMegabytes * BYTES_PER_MEGABYTE / bytesPerEntry));
+		this.entries = new long[size * LONGS_PER_ENTRY];
+		this.mask = size - 1;
+		this.generation = 0;
+	}
+
+	/**
+	 * Marks the start of a new search. Entries of earlier searches are still
+	 * used, but are replaced first.
+	 */
+	void newSearch() {
+		this.generation = (this.generation + 1) & GENERATION_MASK;
+	}
+
+	/**
+	 * Looks a position up.
+	 *
+	 * @param zobristKey key of the position.
+	 * @return the packed entry of the position, or {@link #NO_ENTRY} if it is not
+	 *         in the table.
+	 */
+	long probe(final long zobristKey) {
+		final int index = this.indexOf(zobristKey);
+		final long data = this.entries[index + 1];
+		return (this.entries[index] ^ data) == zobristKey ? data : NO_ENTRY;
+	}
+
+	/**
+	 * Stores the result of a search. An entry of the same position found by a
+	 * deeper search of the current move is kept, and the best move of the
+	 * position is kept when the new result has none.
+	 *
+	 * @param zobristKey key of the position.
+	 * @param move       best move found, or {@link EncodedMove#NULL_MOVE}.
+	 * @param score      score of the position.
+	 * @param depth      depth searched.
+	 * @param bound      {@link #EXACT}, {@link #LOWER_BOUND} or
+	 *                   {@link #UPPER_BOUND}.
+	 */
+	void store(final long zobristKey, final int move, final int score, final int depth, final int bound) {
+		final int index = this.indexOf(zobristKey);
+		final long oldData = this.entries[index + 1];
+		final boolean samePosition = (this.entries[index] ^ oldData) == zobristKey && oldData != NO_ENTRY;
+		if (samePosition && getGeneration(oldData) == this.generation && getDepth(oldData) > depth) {
+			return;
+		}
+		final int bestMove = move == EncodedMove.NULL_MOVE && samePosition ? getMove(oldData) : move;
+		final long data = ((long) score << 32) | STORED
+				| ((long) this.generation << GENERATION_SHIFT)
+				| ((long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT)
+				| ((long) bound << BOUND_SHIFT)
+				| (bestMove & MOVE_MASK);
+		this.entries[index] = zobristKey ^ data;
+		this.entries[index + 1] = data;
+	}
+
+	/**
+	 * Returns the best move of an entry.
+	 *
+	 * @param entry packed entry.
+	 * @return the encoded move, or {@link EncodedMove#NULL_MOVE} if the entry has
+	 *         none or is {@link #NO_ENTRY}.
+	 */
+	static int getMove(final long entry) {
+		return (int) entry & MOVE_MASK;
+	}
+
+	/**
+	 * Returns the score of an entry.
+	 *
+	 * @param entry packed entry.
+	 * @return the score.
+	 */
+	static int getScore(final long entry) {
+		return (int) (entry >> 32);
+	}
+
+	/**
+	 * Returns the depth searched to obtain an entry.
+	 *
+	 * @param entry packed entry.
+	 * @return the depth.
+	 */
+	static int getDepth(final long entry) {
+		return (int) (entry >>> DEPTH_SHIFT) & MAX_DEPTH;
+	}
+
+	/**
+	 * Returns the kind of score of an entry.
+	 *
+	 * @param entry packed entry.
+	 * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}.
+	 */
+	static int getBound(final long entry) {
+		return (int) (entry >>> BOUND_SHIFT) & 0x3;
+	}
+
+	private static int getGeneration(final long entry) {
+		return (int) (entry >>> GENERATION_SHIFT) & GENERATION_MASK;
+	}
+
+	private int indexOf(final long zobristKey) {
+		return ((int) (zobristKey ^ (zobristKey >>> 32)) & this.mask) * LONGS_PER_ENTRY;
+	}
+}
@@ -7,6 +7,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.SelectBox;
 
 import io.adrisdn.chessnsix.chess.engine.board.Move;
 import io.adrisdn.chessnsix.chess.engine.player.artificialInteligence.MiniMax;
+import io.adrisdn.chessnsix.chess.engine.player.artificialInteligence.TranspositionTable;
 import io.adrisdn.chessnsix.gui.board.GameProps;
 import io.adrisdn.chessnsix.gui.managers.GuiUtils;
 import io.adrisdn.chessnsix.gui.screens.GameScreen;
@@ -16,14 +17,21 @@ import io.adrisdn.chessnsix.gui.screens.GameScreen;
  */
 public final class ArtificialIntelligence {
 
+	/**
+	 * Memory used by the transposition table of the AI, in MB.
+	 */
+    private static final int TRANSPOSITION_TABLE_SIZE = 16;
+
     private final SelectBox<Integer> level;
+    private final TranspositionTable transpositionTable;
     private MiniMax miniMax;
 
-	//Initializes the level selector and the AI
+	//Initializes the level selector and the AI, whose transposition table is kept for the whole game
     public ArtificialIntelligence() {
         this.level = new SelectBox<>(GuiUtils.UI_SKIN);
         this.level.setItems(1, 2, 3, 4, 5);
-        this.miniMax = new MiniMax(0);
+        this.transpositionTable = new TranspositionTable(TRANSPOSITION_TABLE_SIZE);
+        this.miniMax = new MiniMax(0, this.transpositionTable);
     }
 
 	/**
@@ -52,7 +60,7 @@ public final class ArtificialIntelligence {
             throw new IllegalStateException("AI range from 1 to 5 ONLY");
         }
         Executors.newSingleThreadExecutor().execute(() -> {
-            this.miniMax = new MiniMax(this.level.getSelected());
+            this.miniMax = new MiniMax(this.level.getSelected(), this.transpositionTable);
             final Move bestMove = miniMax.execute(gameScreen.getChessBoard());
             gameScreen.getGameBoard().updateAiMove(bestMove);
             gameScreen.getGameBoard().updateHumanMove(null);
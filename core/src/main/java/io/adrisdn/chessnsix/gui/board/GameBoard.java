@@ -62,8 +62,7 @@ public final class GameBoard extends Table {
 		this.artificialIntelligence = new ArtificialIntelligence();
 		final PropertyChangeListener gameSetupPropertyChangeListener = propertyChangeEvent -> {
 			if (isAIPlayer(gameScreen.getChessBoard().currentPlayer())
-					&& !gameScreen.getChessBoard().currentPlayer().isInCheckmate()
-					&& !gameScreen.getChessBoard().currentPlayer().isInStalemate()) {
+					&& !BoardUtils.isEndGameScenario(gameScreen.getChessBoard())) {
 				if (!isArtificialIntelligenceWorking()) {
 					updateArtificialIntelligenceWorking(GameProps.ArtificialIntelligenceWorking.WORKING);
 					this.artificialIntelligence.startAI(gameScreen);
@@ -302,8 +301,9 @@ public final class GameBoard extends Table {
 	}
 
 	/**
-	 * Displays a message when the game ends, indicating whether it was a checkmate
-	 * or stalemate.
+	 * Displays a message when the game ends, indicating whether it was a
+	 * checkmate, a stalemate or a draw by threefold repetition, by the fifty-move
+	 * rule or by insufficient material.
 	 *
 	 * @param chessBoard board with all the information about the game
 	 * @param stage      active stage to put the dialog in.
@@ -311,14 +311,18 @@ public final class GameBoard extends Table {
 	public void displayEndGameMessage(final Board chessBoard, final Stage stage) {
 		final String state = chessBoard.currentPlayer().isInCheckmate() ? LanguageManager.get("checkmate")
 				: chessBoard.currentPlayer().isInStalemate() ? LanguageManager.get("stalemate") : null;
-		if (state == null) {
+		final String drawRule = chessBoard.isThreefoldRepetition() ? LanguageManager.get("threefold_repetition")
+				: chessBoard.isFiftyMoveRule() ? LanguageManager.get("fifty_move_rule")
+				: chessBoard.isInsufficientMaterial() ? LanguageManager.get("insufficient_material") : null;
+		if (state == null && drawRule == null) {
 			return;
 		}
-		final Label label = new Label(
-				chessBoard.currentPlayer() + LanguageManager.get("player_in") + state.toLowerCase() + "!",
-				GuiUtils.UI_SKIN);
+		final Label label = new Label(state != null
+				? chessBoard.currentPlayer() + LanguageManager.get("player_in") + state.toLowerCase() + "!"
+				: LanguageManager.get("draw_by") + drawRule.toLowerCase() + "!", GuiUtils.UI_SKIN);
 		label.setColor(Color.BLACK);
-		new Dialog(state, GuiUtils.UI_SKIN).text(label).button(LanguageManager.get("ok")).show(stage);
+		new Dialog(state != null ? state : LanguageManager.get("draw"), GuiUtils.UI_SKIN).text(label)
+				.button(LanguageManager.get("ok")).show(stage);
 		this.updateGameEnd(GameProps.GameEnd.ENDED);
 	}
 
@@ -76,6 +76,7 @@ public final class PawnPromotionInterface {
 		pawnPromotion.getBoard().currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
 		builder.setPiece(pawnPromotion.getPromotedPiece().movedPiece(pawnPromotion));
 		builder.setTransitionMove(pawnPromotion);
+		builder.setCastlingRules(pawnPromotion.getBoard().getCastlingRules());
 		return builder.build();
 	}
 
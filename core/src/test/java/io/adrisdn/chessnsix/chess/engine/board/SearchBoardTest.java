@@ -0,0 +1,90 @@
+package io.adrisdn.chessnsix.chess.engine.board;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.adrisdn.chessnsix.chess.engine.League;
+import io.adrisdn.chessnsix.chess.engine.FEN.FenUtilities;
+import io.adrisdn.chessnsix.chess.engine.pieces.PieceType;
+
+/**
+ * Walks the move tree of a {@link Board} and a {@link SearchBoard} side by side,
+ * checking that both agree on the legal moves, the pieces and the Zobrist key
+ * of every position, that the incremental key matches the one calculated from
+ * scratch, and that unmaking a move restores the position exactly. The move
+ * counts are checked as well, down to the positions without legal moves.
+ */
+class SearchBoardTest {
+
+	private static final int DEPTH = 3;
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+			"rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+			"1rkr3b/1ppn3p/3pB1n1/6q1/R2P4/4N1P1/1P5P/2KRQ1B1 b Dbd - 0 14",
+			"b1q1rrkb/pppppppp/3nn3/8/P7/1PPP4/4PPPP/BQNNRKRB w KQ - 1 9" })
+	void makeAndUnmakeRoundTrip(final String fen) {
+		final Board board = FenUtilities.createGameFromFEN(fen, -1, 0, 0);
+		walk(board, new SearchBoard(board), DEPTH);
+	}
+
+	@Test
+	void positionsWithoutMovesCountNone() {
+		for (final String fen : new String[] { "kbK5/pP6/p7/8/8/8/8/8 b - - 0 1", "k7/8/1Q6/8/8/8/8/7K b - - 0 1" }) {
+			final Board board = FenUtilities.createGameFromFEN(fen, -1, 0, 0);
+			final SearchBoard searchBoard = new SearchBoard(board);
+			assertFalse(searchBoard.hasAnyLegalMove(), fen);
+			assertEquals(0, searchBoard.countLegalMoves(League.BLACK), fen);
+			assertFalse(board.currentPlayer().hasAnyLegalMove(), fen);
+			assertEquals(0, board.currentPlayer().countLegalMoves(), fen);
+		}
+	}
+
+	private static void walk(final Board board, final SearchBoard searchBoard, final int depth) {
+		assertEquals(calculateKey(board), board.getZobristKey());
+		assertEquals(board.getZobristKey(), searchBoard.getZobristKey());
+		assertSamePieces(board.getBitBoard(), searchBoard.getBitBoard());
+		final MoveList moves = searchBoard.calculateLegalMoves(searchBoard.getCurrentLeague());
+		assertEquals(board.currentPlayer().getLegalMoves().size(), moves.size());
+		assertEquals(moves.size(), searchBoard.countLegalMoves(searchBoard.getCurrentLeague()));
+		assertEquals(moves.size() != 0, searchBoard.hasAnyLegalMove());
+		if (depth == 0) {
+			return;
+		}
+		final long key = searchBoard.getZobristKey();
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			final int encodedMove = move.getEncodedMove();
+			assertTrue(moves.contains(encodedMove), move::toString);
+			assertEquals(move, Move.MoveFactory.createMove(board, encodedMove));
+			final MoveTransition transition = board.currentPlayer().makeMove(move);
+			assertTrue(transition.getMoveStatus().isDone());
+			searchBoard.makeMove(encodedMove);
+			walk(transition.getLatestBoard(), searchBoard, depth - 1);
+			searchBoard.unmakeMove();
+			assertEquals(key, searchBoard.getZobristKey());
+			assertSamePieces(board.getBitBoard(), searchBoard.getBitBoard());
+		}
+	}
+
+	private static long calculateKey(final Board board) {
+		return Zobrist.calculateKey(board.getBitBoard(), board.currentPlayer().getLeague(), board.getUnmovedPieces(),
+				board.getEnPassantPawn() == null ? -1 : board.getEnPassantPawn().getPiecePosition());
+	}
+
+	private static void assertSamePieces(final BitBoard expected, final BitBoard actual) {
+		for (final League league : League.values()) {
+			for (final PieceType pieceType : PieceType.values()) {
+				assertEquals(expected.getPieces(league, pieceType), actual.getPieces(league, pieceType),
+						league + " " + pieceType);
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package io.adrisdn.chessnsix.chess.engine.perft;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.adrisdn.chessnsix.chess.engine.FEN.FenUtilities;
+import io.adrisdn.chessnsix.chess.engine.board.Board;
+import io.adrisdn.chessnsix.chess.engine.board.MoveList;
+import io.adrisdn.chessnsix.chess.engine.board.SearchBoard;
+
+/**
+ * Compares the perft counts of the move generation with published values, for
+ * standard chess and Chess960 positions. The {@link Board} API is counted with
+ * {@link Perft} and the {@link SearchBoard} one level deeper with make and
+ * unmake.
+ */
+class PerftTest {
+
+	private static final int BOARD_DEPTH = 3;
+
+	static Stream<Arguments> positions() {
+		return Stream.of(
+				Arguments.of("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+						new long[] { 20, 400, 8902, 197281 }),
+				Arguments.of("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+						new long[] { 48, 2039, 97862, 4085603 }),
+				Arguments.of("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+						new long[] { 14, 191, 2812, 43238 }),
+				Arguments.of("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+						new long[] { 6, 264, 9467, 422333 }),
+				Arguments.of("bqnb1rkr/pp3ppp/3ppn2/2p5/5P2/P2P4/NPP1P1PP/BQ1BNRKR w KQkq - 2 9",
+						new long[] { 21, 528, 12189, 326672 }),
+				Arguments.of("2nnrbkr/p1qppppp/8/1ppb4/6PP/3PP3/PPP2P2/BQNNRBKR w KQkq - 1 9",
+						new long[] { 21, 807, 18002, 667366 }),
+				Arguments.of("b1q1rrkb/pppppppp/3nn3/8/P7/1PPP4/4PPPP/BQNNRKRB w KQ - 1 9",
+						new long[] { 20, 479, 10471, 273318 }),
+				Arguments.of("qbbnnrkr/2pp2pp/p7/1p2pp2/8/P3PP2/1PPP1KPP/QBBNNR1R w kq - 0 9",
+						new long[] { 22, 593, 13440, 382958 }),
+				Arguments.of("1nbbnrkr/p1p1ppp1/3p4/1p3P1p/3Pq2P/8/PPP1P1P1/QNBBNRKR w KQkq - 0 9",
+						new long[] { 28, 1120, 31058, 1171749 }),
+				Arguments.of("qnbnr1kr/ppp1b1pp/4p3/3p1p2/8/2NPP3/PPP1BPPP/QNB1R1KR w KQkq - 1 9",
+						new long[] { 29, 899, 26578, 824055 }),
+				Arguments.of("1rkr3b/1ppn3p/3pB1n1/6q1/R2P4/4N1P1/1P5P/2KRQ1B1 b Dbd - 0 14",
+						new long[] { 35, 1342, 46468, 1854299 }));
+	}
+
+	@ParameterizedTest
+	@MethodSource("positions")
+	void boardPerftMatchesPublishedCounts(final String fen, final long[] counts) {
+		final Board board = FenUtilities.createGameFromFEN(fen, -1, 0, 0);
+		for (int depth = 1; depth <= BOARD_DEPTH; depth++) {
+			assertEquals(counts[depth - 1], Perft.perft(board, depth), "depth " + depth);
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("positions")
+	void divideAddsUpToPerft(final String fen, final long[] counts) {
+		final Board board = FenUtilities.createGameFromFEN(fen, -1, 0, 0);
+		final Perft.Result result = Perft.divide(board, BOARD_DEPTH);
+		assertEquals(counts[BOARD_DEPTH - 1], result.getNodes());
+		assertEquals(result.getNodes(), result.getDivide().values().stream().mapToLong(Long::longValue).sum());
+	}
+
+	@ParameterizedTest
+	@MethodSource("positions")
+	void searchBoardPerftMatchesPublishedCounts(final String fen, final long[] counts) {
+		final SearchBoard board = new SearchBoard(FenUtilities.createGameFromFEN(fen, -1, 0, 0));
+		for (int depth = 1; depth <= counts.length; depth++) {
+			assertEquals(counts[depth - 1], perft(board, depth), "depth " + depth);
+		}
+	}
+
+	private static long perft(final SearchBoard board, final int depth) {
+		final MoveList moves = board.calculateLegalMoves(board.getCurrentLeague());
+		if (depth == 1) {
+			return moves.size();
+		}
+		long nodes = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			board.makeMove(moves.get(i));
+			nodes += perft(board, depth - 1);
+			board.unmakeMove();
+		}
+		return nodes;
+	}
+}
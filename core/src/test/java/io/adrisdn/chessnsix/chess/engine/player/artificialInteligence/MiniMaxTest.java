@@ -0,0 +1,35 @@
+package io.adrisdn.chessnsix.chess.engine.player.artificialInteligence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import io.adrisdn.chessnsix.chess.engine.FEN.FenUtilities;
+import io.adrisdn.chessnsix.chess.engine.board.Move;
+
+/**
+ * Checks that the search finds forced mates deeper than the root, scored from
+ * the positions where the mated player has no legal moves.
+ */
+class MiniMaxTest {
+
+	private static Move search(final String fen, final int depth) {
+		return new MiniMax(depth).execute(FenUtilities.createGameFromFEN(fen, -1, 0, 0));
+	}
+
+	@Test
+	void findsMorphysMateInTwo() {
+		final Move move = search("kbK5/pp6/1P6/8/8/8/8/R7 w - - 0 1", 4);
+		assertEquals(56, move.getCurrentCoordinate(), move::toString);
+		assertEquals(16, move.getDestinationCoordinate(), move::toString);
+	}
+
+	@Test
+	void mateScoresAreStoredFromTheNode() {
+		final int mateInThreePlies = 100000 - 3;
+		final int stored = MiniMax.scoreToTable(mateInThreePlies, 1);
+		assertEquals(mateInThreePlies - 2, MiniMax.scoreFromTable(stored, 3));
+		assertEquals(-mateInThreePlies + 2, MiniMax.scoreFromTable(MiniMax.scoreToTable(-mateInThreePlies, 1), 3));
+		assertEquals(1500, MiniMax.scoreFromTable(MiniMax.scoreToTable(1500, 1), 3));
+	}
+}
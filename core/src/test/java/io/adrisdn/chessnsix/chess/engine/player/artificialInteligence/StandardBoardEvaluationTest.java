@@ -0,0 +1,42 @@
+package io.adrisdn.chessnsix.chess.engine.player.artificialInteligence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.adrisdn.chessnsix.chess.engine.FEN.FenUtilities;
+import io.adrisdn.chessnsix.chess.engine.board.Board;
+import io.adrisdn.chessnsix.chess.engine.board.SearchBoard;
+
+/**
+ * Checks the evaluation of positions where a player has no legal moves, which
+ * must neither overflow nor hide the checkmate score.
+ */
+class StandardBoardEvaluationTest {
+
+	private static final int CHECK_MATE = 10000;
+
+	private final StandardBoardEvaluation evaluator = new StandardBoardEvaluation();
+
+	private int evaluate(final String fen) {
+		final Board board = FenUtilities.createGameFromFEN(fen, -1, 0, 0);
+		final int score = this.evaluator.evaluate(board, 0);
+		assertEquals(score, this.evaluator.evaluate(new SearchBoard(board), 0), fen);
+		return score;
+	}
+
+	@Test
+	void checkmateScoresForTheWinner() {
+		final int blackMated = this.evaluate("kbK5/pP6/p7/8/8/8/8/8 b - - 0 1");
+		assertTrue(blackMated > CHECK_MATE / 2 && blackMated < CHECK_MATE * 2, () -> "score " + blackMated);
+		assertEquals(-blackMated, this.evaluate("8/8/8/8/8/P7/Pp6/KBk5 w - - 0 1"));
+	}
+
+	@Test
+	void stalemateDoesNotOverflow() {
+		final int blackStalemated = this.evaluate("k7/8/1Q6/8/8/8/8/7K b - - 0 1");
+		assertTrue(Math.abs(blackStalemated) < CHECK_MATE, () -> "score " + blackStalemated);
+		assertEquals(-blackStalemated, this.evaluate("K7/8/1q6/8/8/8/8/7k w - - 0 1"));
+	}
+}
@@ -0,0 +1,42 @@
+package io.adrisdn.chessnsix.chess.engine.player.artificialInteligence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import io.adrisdn.chessnsix.chess.engine.board.EncodedMove;
+
+/**
+ * Checks the packing and the replacement policy of the transposition table.
+ */
+class TranspositionTableTest {
+
+	private static final long KEY = 0x9D39247E33776D41L;
+	private static final int MOVE = EncodedMove.encode(52, 36, EncodedMove.PAWN_JUMP);
+
+	private final TranspositionTable table = new TranspositionTable(1);
+
+	@Test
+	void probeReturnsTheStoredEntry() {
+		assertEquals(TranspositionTable.NO_ENTRY, this.table.probe(KEY));
+		this.table.store(KEY, MOVE, -1234, 7, TranspositionTable.LOWER_BOUND);
+		final long entry = this.table.probe(KEY);
+		assertEquals(MOVE, TranspositionTable.getMove(entry));
+		assertEquals(-1234, TranspositionTable.getScore(entry));
+		assertEquals(7, TranspositionTable.getDepth(entry));
+		assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+		assertEquals(TranspositionTable.NO_ENTRY, this.table.probe(KEY ^ 1L << 40));
+	}
+
+	@Test
+	void deeperEntryOfTheSameSearchIsKept() {
+		this.table.store(KEY, MOVE, 50, 6, TranspositionTable.EXACT);
+		this.table.store(KEY, EncodedMove.NULL_MOVE, 10, 3, TranspositionTable.UPPER_BOUND);
+		assertEquals(6, TranspositionTable.getDepth(this.table.probe(KEY)));
+		this.table.newSearch();
+		this.table.store(KEY, EncodedMove.NULL_MOVE, 10, 3, TranspositionTable.UPPER_BOUND);
+		final long entry = this.table.probe(KEY);
+		assertEquals(3, TranspositionTable.getDepth(entry));
+		assertEquals(MOVE, TranspositionTable.getMove(entry));
+	}
+}